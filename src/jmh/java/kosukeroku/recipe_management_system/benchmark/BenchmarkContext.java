@@ -0,0 +1,104 @@
+package kosukeroku.recipe_management_system.benchmark;
+
+import kosukeroku.recipe_management_system.RecipeManagementSystemApplication;
+import kosukeroku.recipe_management_system.index.RecipeIndexMaintainer;
+import kosukeroku.recipe_management_system.model.Recipe;
+import kosukeroku.recipe_management_system.model.User;
+import kosukeroku.recipe_management_system.repository.RecipeRepository;
+import kosukeroku.recipe_management_system.repository.UserRepository;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+final class BenchmarkContext {
+
+    static final String AUTHOR_EMAIL = "benchmark@example.com";
+    static final String AUTHOR_PASSWORD = "benchmark-password";
+    static final List<String> CATEGORIES = List.of(
+            "breakfast", "lunch", "dinner", "dessert", "snack", "soup", "salad", "drink", "side", "bread");
+
+    private static final List<String> DISHES = List.of(
+            "Pasta", "Salad", "Soup", "Cake", "Curry", "Stew", "Pie", "Omelette", "Risotto", "Tacos");
+    private static final List<String> INGREDIENTS = List.of(
+            "2 eggs", "200 g flour", "1 cup milk", "butter", "salt", "pepper", "olive oil", "garlic",
+            "onion", "tomatoes", "basil", "parmesan", "chicken", "rice", "beans", "sugar", "lemon", "spinach");
+    private static final int SEED_BATCH_SIZE = 1000;
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start(String... extraProperties) {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("spring.datasource.url", "jdbc:h2:mem:benchmark-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        properties.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+        return run(properties, extraProperties);
+    }
+
+    static ConfigurableApplicationContext startOnDisk(Path directory, String profile, String... extraProperties) {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("recipes.datasource.path", directory.resolve("recipesdb").toAbsolutePath().toString());
+        properties.put("spring.profiles.active", profile);
+        return run(properties, extraProperties);
+    }
+
+    private static ConfigurableApplicationContext run(Map<String, String> properties, String... extraProperties) {
+        properties.put("server.port", "0");
+        properties.put("spring.jpa.show-sql", "false");
+        properties.put("logging.level.root", "WARN");
+        for (String property : extraProperties) {
+            int separator = property.indexOf('=');
+            properties.put(property.substring(0, separator), property.substring(separator + 1));
+        }
+
+        String[] args = properties.entrySet().stream()
+                .map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+                .toArray(String[]::new);
+        return new SpringApplicationBuilder(RecipeManagementSystemApplication.class).run(args);
+    }
+
+    static User seed(ConfigurableApplicationContext context, int catalogSize) {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        RecipeRepository recipeRepository = context.getBean(RecipeRepository.class);
+
+        User author = new User();
+        author.setEmail(AUTHOR_EMAIL);
+        author.setPassword(context.getBean(PasswordEncoder.class).encode(AUTHOR_PASSWORD));
+        userRepository.save(author);
+
+        List<Recipe> batch = new ArrayList<>(SEED_BATCH_SIZE);
+        for (int i = 0; i < catalogSize; i++) {
+            batch.add(recipe(i, author));
+            if (batch.size() == SEED_BATCH_SIZE) {
+                recipeRepository.saveAll(batch);
+                batch.clear();
+            }
+        }
+        recipeRepository.saveAll(batch);
+
+        context.getBean(RecipeIndexMaintainer.class).rebuild();
+        return author;
+    }
+
+    static Recipe recipe(int i, User author) {
+        Recipe recipe = new Recipe();
+        recipe.setName(DISHES.get(i % DISHES.size()) + " number " + i);
+        recipe.setCategory(CATEGORIES.get(i % CATEGORIES.size()));
+        recipe.setDescription("Benchmark recipe " + i + " with plenty of flavour");
+        recipe.setIngredients(List.of(
+                INGREDIENTS.get(i % INGREDIENTS.size()),
+                INGREDIENTS.get((i * 7 + 3) % INGREDIENTS.size()),
+                INGREDIENTS.get((i * 13 + 5) % INGREDIENTS.size())));
+        recipe.setDirections(List.of("Prepare the ingredients", "Cook for " + (i % 60) + " minutes", "Serve"));
+        recipe.setDate(LocalDateTime.now().minusMinutes(i));
+        recipe.setAuthor(author);
+        return recipe;
+    }
+}
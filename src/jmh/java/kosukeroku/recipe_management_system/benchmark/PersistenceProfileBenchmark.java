@@ -0,0 +1,82 @@
+package kosukeroku.recipe_management_system.benchmark;
+
+import kosukeroku.recipe_management_system.dto.RecipePageDto;
+import kosukeroku.recipe_management_system.dto.RecipeRequestDto;
+import kosukeroku.recipe_management_system.dto.RecipeResponseDto;
+import kosukeroku.recipe_management_system.service.RecipeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(8)
+@Fork(1)
+public class PersistenceProfileBenchmark {
+
+    @Param({"default", "prod"})
+    public String profile;
+
+    @Param({"10000"})
+    public int catalogSize;
+
+    private final AtomicInteger sequence = new AtomicInteger();
+    private Path directory;
+    private ConfigurableApplicationContext context;
+    private RecipeService recipeService;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("recipes-" + profile);
+        context = BenchmarkContext.startOnDisk(directory, profile);
+        BenchmarkContext.seed(context, catalogSize);
+        recipeService = context.getBean(RecipeService.class);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        context.close();
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public long createRecipe() {
+        int i = sequence.incrementAndGet();
+        RecipeRequestDto request = new RecipeRequestDto("Load recipe " + i,
+                BenchmarkContext.CATEGORIES.get(i % BenchmarkContext.CATEGORIES.size()),
+                "Written under concurrent load", List.of("salt", "pepper", "olive oil"), List.of("Mix", "Serve"));
+        return recipeService.saveRecipe(request, BenchmarkContext.AUTHOR_EMAIL);
+    }
+
+    @Benchmark
+    public RecipePageDto firstPage() {
+        return recipeService.getAllRecipes(null, 20);
+    }
+
+    @Benchmark
+    public List<RecipeResponseDto> searchByCategory() {
+        return recipeService.searchByCategory("Dinner");
+    }
+}
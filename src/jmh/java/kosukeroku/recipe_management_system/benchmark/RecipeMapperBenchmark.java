@@ -0,0 +1,51 @@
+package kosukeroku.recipe_management_system.benchmark;
+
+import kosukeroku.recipe_management_system.dto.RecipeRequestDto;
+import kosukeroku.recipe_management_system.dto.RecipeResponseDto;
+import kosukeroku.recipe_management_system.mapper.RecipeMapper;
+import kosukeroku.recipe_management_system.model.Recipe;
+import kosukeroku.recipe_management_system.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecipeMapperBenchmark {
+
+    private final RecipeMapper recipeMapper = new RecipeMapper();
+    private Recipe recipe;
+    private RecipeRequestDto request;
+
+    @Setup
+    public void setUp() {
+        User author = new User();
+        author.setEmail(BenchmarkContext.AUTHOR_EMAIL);
+        recipe = BenchmarkContext.recipe(42, author);
+        request = new RecipeRequestDto(recipe.getName(), recipe.getCategory(), recipe.getDescription(),
+                recipe.getIngredients(), recipe.getDirections());
+    }
+
+    @Benchmark
+    public RecipeResponseDto toDto() {
+        return recipeMapper.toDto(recipe);
+    }
+
+    @Benchmark
+    public Recipe toEntity() {
+        return recipeMapper.toEntity(request);
+    }
+}
@@ -0,0 +1,68 @@
+package kosukeroku.recipe_management_system.benchmark;
+
+import kosukeroku.recipe_management_system.dto.RecipePageDto;
+import kosukeroku.recipe_management_system.dto.RecipeResponseDto;
+import kosukeroku.recipe_management_system.service.RecipeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecipeServiceBenchmark {
+
+    @Param({"1000", "10000"})
+    public int catalogSize;
+
+    private ConfigurableApplicationContext context;
+    private RecipeService recipeService;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start();
+        BenchmarkContext.seed(context, catalogSize);
+        recipeService = context.getBean(RecipeService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<RecipeResponseDto> searchByCategory() {
+        return recipeService.searchByCategory("Dinner");
+    }
+
+    @Benchmark
+    public List<RecipeResponseDto> searchByName() {
+        return recipeService.searchByName("number 99");
+    }
+
+    @Benchmark
+    public List<RecipeResponseDto> searchFullText() {
+        return recipeService.searchFullText("curry garlic");
+    }
+
+    @Benchmark
+    public RecipePageDto firstPage() {
+        return recipeService.getAllRecipes(null, RecipeService.DEFAULT_PAGE_SIZE);
+    }
+}
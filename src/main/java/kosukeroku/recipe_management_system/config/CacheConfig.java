@@ -0,0 +1,42 @@
+package kosukeroku.recipe_management_system.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import kosukeroku.recipe_management_system.service.SerializedRecipe;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+public class CacheConfig {
+
+    public static final String RECIPES_CACHE = "recipes";
+    public static final String ACTIVE_USERS_CACHE = "activeUsers";
+    public static final String RECIPE_JSON_CACHE = "recipeJson";
+
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> activeUsersCacheCustomizer(
+            @Value("${jwt.stateless-principal.user-cache-ttl:30s}") Duration userCacheTtl) {
+        return cacheManager -> cacheManager.registerCustomCache(ACTIVE_USERS_CACHE, Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(userCacheTtl)
+                .recordStats()
+                .build());
+    }
+
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> recipeJsonCacheCustomizer(
+            @Value("${recipes.json-cache.max-bytes:67108864}") long maxBytes) {
+        return cacheManager -> cacheManager.registerCustomCache(RECIPE_JSON_CACHE, Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Object key, Object value) -> ((SerializedRecipe) value).weight())
+                .recordStats()
+                .build());
+    }
+}
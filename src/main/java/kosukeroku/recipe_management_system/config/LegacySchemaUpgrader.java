@@ -0,0 +1,73 @@
+package kosukeroku.recipe_management_system.config;
+
+import jakarta.annotation.PostConstruct;
+import kosukeroku.recipe_management_system.model.Recipe;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+public class LegacySchemaUpgrader {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void upgrade() {
+        transactionTemplate.executeWithoutResult(status -> {
+            alignRecipeIdSequence();
+            backfillCategoryKeys();
+            backfillListOrder("recipe_ingredients", "ingredients_order");
+            backfillListOrder("recipe_directions", "directions_order");
+            widenRequestHash();
+        });
+    }
+
+    private void alignRecipeIdSequence() {
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM recipes", Long.class);
+        Long nextValue = jdbcTemplate.queryForObject(
+                "SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = 'RECIPES_SEQ'", Long.class);
+        if (maxId == null || nextValue == null) {
+            return;
+        }
+
+        long safeNextValue = maxId + Recipe.ID_ALLOCATION_SIZE + 1;
+        if (nextValue < safeNextValue) {
+            jdbcTemplate.execute("ALTER SEQUENCE recipes_seq RESTART WITH " + safeNextValue);
+            log.info("Moved recipes_seq from {} to {} past existing recipe ids", nextValue, safeNextValue);
+        }
+    }
+
+    private void backfillCategoryKeys() {
+        int updated = jdbcTemplate.update(
+                "UPDATE recipes SET category_key = LOWER(TRIM(category)) WHERE category_key IS NULL AND category IS NOT NULL");
+        if (updated > 0) {
+            log.info("Backfilled category_key for {} recipes", updated);
+        }
+    }
+
+    private void widenRequestHash() {
+        String type = jdbcTemplate.query("SELECT DATA_TYPE FROM INFORMATION_SCHEMA.COLUMNS"
+                        + " WHERE TABLE_NAME = 'RECIPE_IDEMPOTENCY_KEYS' AND COLUMN_NAME = 'REQUEST_HASH'",
+                rs -> rs.next() ? rs.getString(1) : null);
+        if ("INTEGER".equals(type)) {
+            jdbcTemplate.execute("ALTER TABLE recipe_idempotency_keys ALTER COLUMN request_hash VARCHAR(64) NOT NULL");
+            log.info("Widened recipe_idempotency_keys.request_hash to hold SHA-256 fingerprints");
+        }
+    }
+
+    private void backfillListOrder(String table, String orderColumn) {
+        int updated = jdbcTemplate.update("UPDATE " + table + " t SET " + orderColumn + " = ("
+                + "SELECT COUNT(*) FROM " + table + " o WHERE o.recipe_id = t.recipe_id AND o._ROWID_ < t._ROWID_)"
+                + " WHERE " + orderColumn + " IS NULL");
+        if (updated > 0) {
+            log.info("Backfilled {} for {} rows in {}", orderColumn, updated, table);
+        }
+    }
+}
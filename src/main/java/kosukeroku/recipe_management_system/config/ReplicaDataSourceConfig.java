@@ -0,0 +1,62 @@
+package kosukeroku.recipe_management_system.config;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.zaxxer.hikari.HikariDataSource;
+import kosukeroku.recipe_management_system.datasource.ReplicaFreshnessTracker;
+import kosukeroku.recipe_management_system.datasource.ReplicaRoutingDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(name = "recipes.datasource.replica.enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("recipes.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(@Value("${recipes.datasource.replica.url:}") String url,
+                                              @Value("${recipes.datasource.replica.username:}") String username,
+                                              @Value("${recipes.datasource.replica.password:}") String password) {
+        if (url.isBlank()) {
+            throw new IllegalStateException(
+                    "recipes.datasource.replica.url must point at a replica of the primary database");
+        }
+        return DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+    }
+
+    @Bean
+    public ReplicaFreshnessTracker freshnessTracker(
+            @Value("${recipes.datasource.replica.max-staleness:5s}") Duration maxStaleness) {
+        return new ReplicaFreshnessTracker(maxStaleness, Ticker.systemTicker());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                 ReplicaFreshnessTracker freshnessTracker) {
+        return new LazyConnectionDataSourceProxy(
+                new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource, freshnessTracker));
+    }
+}
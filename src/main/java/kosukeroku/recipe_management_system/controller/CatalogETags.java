@@ -0,0 +1,70 @@
+package kosukeroku.recipe_management_system.controller;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
+import java.util.Optional;
+
+final class CatalogETags {
+
+    static final String[] VARY = {HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING};
+
+    private static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+    private static final List<MediaType> FORMATS =
+            List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR, APPLICATION_SMILE);
+
+    private CatalogETags() {
+    }
+
+    static boolean checkNotModified(WebRequest request, Optional<String> validator) {
+        if (validator.isEmpty()) {
+            return false;
+        }
+
+        String version = validator.get();
+        String eTag = version + "-" + negotiatedFormat(request.getHeader(HttpHeaders.ACCEPT)).getSubtype();
+        if (!request.checkNotModified(eTag)) {
+            return false;
+        }
+
+        HttpServletResponse response = request instanceof NativeWebRequest nativeRequest
+                ? nativeRequest.getNativeResponse(HttpServletResponse.class)
+                : null;
+        if (response != null) {
+            response.setHeader(HttpHeaders.VARY, String.join(", ", VARY));
+        }
+        return true;
+    }
+
+    private static MediaType negotiatedFormat(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return MediaType.APPLICATION_JSON;
+        }
+
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return MediaType.APPLICATION_JSON;
+        }
+        MimeTypeUtils.sortBySpecificity(accepted);
+
+        for (MediaType type : accepted) {
+            if (type.getQualityValue() == 0) {
+                continue;
+            }
+            for (MediaType format : FORMATS) {
+                if (type.includes(format)) {
+                    return format;
+                }
+            }
+        }
+        return MediaType.APPLICATION_JSON;
+    }
+}
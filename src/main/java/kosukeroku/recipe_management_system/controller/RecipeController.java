@@ -1,48 +1,160 @@
 package kosukeroku.recipe_management_system.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import kosukeroku.recipe_management_system.dto.CategoryFacetDto;
+import kosukeroku.recipe_management_system.dto.CookableRecipeDto;
+import kosukeroku.recipe_management_system.dto.CookableRequestDto;
+import kosukeroku.recipe_management_system.dto.RecipeImportResultDto;
+import kosukeroku.recipe_management_system.dto.RecipePageDto;
 import kosukeroku.recipe_management_system.dto.RecipeRequestDto;
 import kosukeroku.recipe_management_system.dto.RecipeResponseDto;
+import kosukeroku.recipe_management_system.exception.RecipeIngestFailedException;
+import kosukeroku.recipe_management_system.exception.RecipeVersionConflictException;
 import kosukeroku.recipe_management_system.security.UserPrincipal;
+import kosukeroku.recipe_management_system.service.RecipeExportService;
+import kosukeroku.recipe_management_system.service.RecipeImportService;
+import kosukeroku.recipe_management_system.service.RecipeIngestService;
+import kosukeroku.recipe_management_system.service.RecipeJsonCache;
 import kosukeroku.recipe_management_system.service.RecipeService;
+import kosukeroku.recipe_management_system.service.SerializedRecipe;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.net.URI;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/api/recipe")
 public class RecipeController {
 
+    private static final String MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+    private static final String PREFER = "Prefer";
+    private static final String PREFERENCE_APPLIED = "Preference-Applied";
+    private static final String RESPOND_ASYNC = "respond-async";
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
     RecipeService recipeService;
+    RecipeExportService recipeExportService;
+    RecipeImportService recipeImportService;
+    RecipeJsonCache recipeJsonCache;
+    RecipeIngestService recipeIngestService;
 
 
-    public RecipeController(RecipeService recipeService) {
+    public RecipeController(RecipeService recipeService, RecipeExportService recipeExportService,
+                            RecipeImportService recipeImportService, RecipeJsonCache recipeJsonCache,
+                            RecipeIngestService recipeIngestService) {
         this.recipeService = recipeService;
+        this.recipeExportService = recipeExportService;
+        this.recipeImportService = recipeImportService;
+        this.recipeJsonCache = recipeJsonCache;
+        this.recipeIngestService = recipeIngestService;
     }
 
     @PostMapping("/new")
-    public Map<String, Long> addRecipe(@RequestBody @Valid RecipeRequestDto recipe,
-                                       @AuthenticationPrincipal UserPrincipal userPrincipal) {
+    public ResponseEntity<Map<String, Long>> addRecipe(@RequestBody @Valid RecipeRequestDto recipe,
+                                                       @RequestHeader(value = PREFER, required = false) String prefer,
+                                                       @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+                                                       @AuthenticationPrincipal UserPrincipal userPrincipal) {
+
+        if (recipeIngestService.isEnabled() && prefersAsync(prefer)) {
+            long id = recipeIngestService.accept(recipe, userPrincipal.getId(), idempotencyKey);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/recipe/" + id))
+                    .header(PREFERENCE_APPLIED, RESPOND_ASYNC)
+                    .body(Map.of("id", id));
+        }
 
         String email = userPrincipal.getUsername();
         long id = recipeService.saveRecipe(recipe, email);
-        return Map.of("id", id);
+        return ResponseEntity.ok(Map.of("id", id));
+    }
+
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public RecipeImportResultDto importRecipes(HttpServletRequest request,
+                                               @AuthenticationPrincipal UserPrincipal userPrincipal) throws IOException {
+
+        String email = userPrincipal.getUsername();
+        return recipeImportService.importRecipes(request.getInputStream(),
+                MediaType.parseMediaType(request.getContentType()), email);
     }
 
     @GetMapping("/all")
-    public List<RecipeResponseDto> getAllRecipes() {
-        return recipeService.getAllRecipes();
+    public ResponseEntity<RecipePageDto> getAllRecipes(@RequestParam(required = false) String cursor,
+                                                       @RequestParam(defaultValue = "" + RecipeService.DEFAULT_PAGE_SIZE) int size,
+                                                       WebRequest request) {
+
+        if (CatalogETags.checkNotModified(request, recipeService.getCatalogVersion())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(REVALIDATE)
+                .varyBy(CatalogETags.VARY)
+                .body(recipeService.getAllRecipes(cursor, size));
+    }
+
+    @GetMapping("/mine")
+    public ResponseEntity<RecipePageDto> getMyRecipes(@RequestParam(required = false) String cursor,
+                                                      @RequestParam(defaultValue = "" + RecipeService.DEFAULT_PAGE_SIZE) int size,
+                                                      @AuthenticationPrincipal UserPrincipal userPrincipal,
+                                                      WebRequest request) {
+
+        if (CatalogETags.checkNotModified(request, recipeService.getAuthorVersion(userPrincipal.getId()))) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(REVALIDATE)
+                .varyBy(CatalogETags.VARY)
+                .body(recipeService.getRecipesByAuthor(userPrincipal.getId(), cursor, size));
+    }
+
+    @GetMapping("/categories")
+    public ResponseEntity<List<CategoryFacetDto>> getCategories(WebRequest request) {
+
+        if (CatalogETags.checkNotModified(request, recipeService.getCatalogVersion())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(REVALIDATE)
+                .varyBy(CatalogETags.VARY)
+                .body(recipeService.getCategoryFacets());
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void exportRecipes(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        recipeExportService.exportTo(response.getOutputStream());
+    }
+
+    @PostMapping("/cookable")
+    public List<CookableRecipeDto> findCookableRecipes(@RequestBody @Valid CookableRequestDto request) {
+        return recipeService.findCookable(request.getIngredients());
     }
 
-    @GetMapping("/{id}")
-    public ResponseEntity<RecipeResponseDto> getRecipe(@PathVariable("id") long id) {
-        return recipeService.getRecipeById(id)
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+    @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getRecipe(@PathVariable("id") long id, WebRequest request) {
+
+        SerializedRecipe recipe = recipeJsonCache.get(id).orElse(null);
+        if (recipe == null) {
+            return missingRecipe(id);
+        }
+        if (request.checkNotModified(recipeETag(id, recipe.version()))) {
+            return null;
+        }
+        return jsonResponse(recipe, request.getHeader(HttpHeaders.ACCEPT_ENCODING));
     }
 
     @DeleteMapping("/{id}")
@@ -55,37 +167,106 @@ public class RecipeController {
     }
 
     @PutMapping("/{id}")
-    @ResponseStatus(HttpStatus.NO_CONTENT)
-    public void updateRecipe(@PathVariable Long id, @RequestBody @Valid RecipeRequestDto recipe,
-                             @AuthenticationPrincipal UserPrincipal userPrincipal) {
+    public ResponseEntity<Void> updateRecipe(@PathVariable Long id, @RequestBody @Valid RecipeRequestDto recipe,
+                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                             @AuthenticationPrincipal UserPrincipal userPrincipal) {
+
+        String email = userPrincipal.getUsername();
+        long version = recipeService.updateRecipeById(id, recipe, email, expectedVersion(id, ifMatch));
+        return ResponseEntity.noContent().eTag(recipeETag(id, version)).build();
+    }
+
+    @PatchMapping(value = "/{id}", consumes = {MERGE_PATCH_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<Void> patchRecipe(@PathVariable Long id, @RequestBody JsonNode patch,
+                                            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                            @AuthenticationPrincipal UserPrincipal userPrincipal) {
 
         String email = userPrincipal.getUsername();
-        recipeService.updateRecipeById(id, recipe, email);
+        long version = recipeService.patchRecipeById(id, patch, email, expectedVersion(id, ifMatch));
+        return ResponseEntity.noContent().eTag(recipeETag(id, version)).build();
     }
 
     @GetMapping("/search")
     public ResponseEntity<List<RecipeResponseDto>> searchRecipeByCategoryOrName(
             @RequestParam(required = false) String category,
-            @RequestParam(required = false) String name) {
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) String q,
+            WebRequest request) {
 
-        if (category == null && name == null) {
+        if (category == null && name == null && q == null) {
             return ResponseEntity.badRequest().build();
         }
 
-        if (category != null && name != null) {
+        if (Stream.of(category, name, q).filter(Objects::nonNull).count() > 1) {
             return ResponseEntity.badRequest().build();
         }
 
+        if (CatalogETags.checkNotModified(request, recipeService.getCatalogVersion())) {
+            return null;
+        }
+
         if (category != null) {
             List<RecipeResponseDto> recipes = recipeService.searchByCategory(category);
-            return ResponseEntity.ok(recipes);
+            return ResponseEntity.ok().cacheControl(REVALIDATE).varyBy(CatalogETags.VARY).body(recipes);
+        } else if (q != null) {
+            List<RecipeResponseDto> recipes = recipeService.searchFullText(q);
+            return ResponseEntity.ok().cacheControl(REVALIDATE).varyBy(CatalogETags.VARY).body(recipes);
         } else {
             List<RecipeResponseDto> recipes = recipeService.searchByName(name);
-            return ResponseEntity.ok(recipes);
+            return ResponseEntity.ok().cacheControl(REVALIDATE).varyBy(CatalogETags.VARY).body(recipes);
         }
 
 
     }
 
+    private static ResponseEntity<byte[]> jsonResponse(SerializedRecipe recipe, String acceptEncoding) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(REVALIDATE)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+
+        if (recipe.gzippedJson() != null && acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(recipe.gzippedJson());
+        }
+        return response.body(recipe.json());
+    }
 
-}
\ No newline at end of file
+    private ResponseEntity<byte[]> missingRecipe(long id) {
+        if (recipeIngestService.isPending(id)) {
+            return ResponseEntity.accepted().header(HttpHeaders.RETRY_AFTER, "1").build();
+        }
+        String failure = recipeIngestService.findFailure(id).orElse(null);
+        if (failure != null) {
+            throw new RecipeIngestFailedException(id, failure);
+        }
+        return ResponseEntity.notFound().build();
+    }
+
+    private static boolean prefersAsync(String prefer) {
+        return prefer != null && Stream.of(prefer.split(","))
+                .map(String::trim)
+                .anyMatch(RESPOND_ASYNC::equalsIgnoreCase);
+    }
+
+    private static String recipeETag(long id, long version) {
+        return "\"" + id + "-" + version + "\"";
+    }
+
+    private static Long expectedVersion(long id, String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+
+        String prefix = "\"" + id + "-";
+        for (String tag : ifMatch.split(",")) {
+            String value = tag.trim();
+            if (value.startsWith(prefix) && value.endsWith("\"") && value.length() > prefix.length() + 1) {
+                try {
+                    return Long.parseLong(value.substring(prefix.length(), value.length() - 1));
+                } catch (NumberFormatException ignored) {
+                }
+            }
+        }
+        throw new RecipeVersionConflictException(id);
+    }
+}
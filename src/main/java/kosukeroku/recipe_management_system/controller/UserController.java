@@ -0,0 +1,36 @@
+package kosukeroku.recipe_management_system.controller;
+
+import kosukeroku.recipe_management_system.dto.RecipePageDto;
+import kosukeroku.recipe_management_system.service.RecipeService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+@RestController
+@RequestMapping("/api/users")
+@RequiredArgsConstructor
+public class UserController {
+
+    private final RecipeService recipeService;
+
+    @GetMapping("/{id}/recipes")
+    public ResponseEntity<RecipePageDto> getRecipesByAuthor(@PathVariable("id") long id,
+                                                            @RequestParam(required = false) String cursor,
+                                                            @RequestParam(defaultValue = "" + RecipeService.DEFAULT_PAGE_SIZE) int size,
+                                                            WebRequest request) {
+
+        if (CatalogETags.checkNotModified(request, recipeService.getAuthorVersion(id))) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .varyBy(CatalogETags.VARY)
+                .body(recipeService.getRecipesByAuthor(id, cursor, size));
+    }
+}
@@ -0,0 +1,69 @@
+package kosukeroku.recipe_management_system.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import kosukeroku.recipe_management_system.event.RecipeChangedEvent;
+import kosukeroku.recipe_management_system.event.UserRegisteredEvent;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class ReplicaFreshnessTracker {
+
+    private static final int MAX_TRACKED_WRITERS = 100_000;
+
+    private final Ticker ticker;
+    private final long maxStalenessNanos;
+    private final Cache<String, Boolean> recentWriters;
+    private final AtomicLong lastCatalogWriteNanos;
+
+    public ReplicaFreshnessTracker(Duration maxStaleness, Ticker ticker) {
+        this.ticker = ticker;
+        this.maxStalenessNanos = maxStaleness.toNanos();
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(maxStaleness)
+                .maximumSize(MAX_TRACKED_WRITERS)
+                .ticker(ticker)
+                .build();
+        this.lastCatalogWriteNanos = new AtomicLong(ticker.read() - maxStalenessNanos);
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipeChanged(RecipeChangedEvent event) {
+        lastCatalogWriteNanos.accumulateAndGet(ticker.read(), Math::max);
+        currentUser().ifPresent(user -> recentWriters.put(user, Boolean.TRUE));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserRegistered(UserRegisteredEvent event) {
+        recentWriters.put(event.getEmail(), Boolean.TRUE);
+    }
+
+    public boolean currentUserWroteRecently() {
+        return currentUser()
+                .map(user -> recentWriters.getIfPresent(user) != null)
+                .orElse(false);
+    }
+
+    public boolean currentReadsMayLagCatalog() {
+        return ticker.read() - lastCatalogWriteNanos.get() < maxStalenessNanos && !currentUserWroteRecently();
+    }
+
+    private static Optional<String> currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(authentication.getName());
+    }
+}
@@ -0,0 +1,39 @@
+package kosukeroku.recipe_management_system.datasource;
+
+import kosukeroku.recipe_management_system.service.RecipeService;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Target {
+        PRIMARY, REPLICA
+    }
+
+    private static final String REPLICA_ELIGIBLE_PREFIX = RecipeService.class.getName() + ".";
+
+    private final ReplicaFreshnessTracker freshnessTracker;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaFreshnessTracker freshnessTracker) {
+        this.freshnessTracker = freshnessTracker;
+        setTargetDataSources(Map.<Object, Object>of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Target determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return Target.PRIMARY;
+        }
+        String transactionName = TransactionSynchronizationManager.getCurrentTransactionName();
+        if (transactionName == null || !transactionName.startsWith(REPLICA_ELIGIBLE_PREFIX)) {
+            return Target.PRIMARY;
+        }
+        return freshnessTracker.currentUserWroteRecently() ? Target.PRIMARY : Target.REPLICA;
+    }
+}
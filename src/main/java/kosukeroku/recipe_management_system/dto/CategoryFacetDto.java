@@ -0,0 +1,14 @@
+package kosukeroku.recipe_management_system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CategoryFacetDto {
+
+    private String category;
+    private long count;
+}
@@ -0,0 +1,17 @@
+package kosukeroku.recipe_management_system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CookableRecipeDto {
+
+    private RecipeResponseDto recipe;
+    private double coverage;
+    private List<String> missingIngredients;
+}
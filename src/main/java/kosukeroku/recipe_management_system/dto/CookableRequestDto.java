@@ -0,0 +1,17 @@
+package kosukeroku.recipe_management_system.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CookableRequestDto {
+
+    @NotEmpty
+    private List<String> ingredients;
+}
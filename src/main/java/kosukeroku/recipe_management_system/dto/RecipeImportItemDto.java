@@ -0,0 +1,25 @@
+package kosukeroku.recipe_management_system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RecipeImportItemDto {
+
+    private int index;
+    private Long id;
+    private Map<String, String> errors;
+
+    public static RecipeImportItemDto imported(int index, long id) {
+        return new RecipeImportItemDto(index, id, null);
+    }
+
+    public static RecipeImportItemDto failed(int index, Map<String, String> errors) {
+        return new RecipeImportItemDto(index, null, errors);
+    }
+}
@@ -0,0 +1,18 @@
+package kosukeroku.recipe_management_system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RecipeImportResultDto {
+
+    private int imported;
+    private int failed;
+    private Integer stoppedAt;
+    private List<RecipeImportItemDto> items;
+}
@@ -0,0 +1,16 @@
+package kosukeroku.recipe_management_system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RecipePageDto {
+
+    private List<RecipeResponseDto> recipes;
+    private String nextCursor;
+}
@@ -1,5 +1,6 @@
 package kosukeroku.recipe_management_system.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.Size;
@@ -22,4 +23,6 @@ public class RecipeResponseDto {
     private List<String> ingredients;
     private List<String> directions;
     private String authorEmail;
+    @JsonIgnore
+    private long version;
 }
\ No newline at end of file
@@ -0,0 +1,55 @@
+package kosukeroku.recipe_management_system.event;
+
+import kosukeroku.recipe_management_system.model.Recipe;
+import kosukeroku.recipe_management_system.model.User;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class RecipeChangedEvent {
+
+    private final long recipeId;
+    private final long version;
+    private final Recipe recipe;
+
+    public static RecipeChangedEvent saved(Recipe recipe) {
+        return new RecipeChangedEvent(recipe.getId(), recipe.getVersion(), snapshot(recipe));
+    }
+
+    public static RecipeChangedEvent deleted(long recipeId, long version) {
+        return new RecipeChangedEvent(recipeId, version, null);
+    }
+
+    public boolean isDeleted() {
+        return recipe == null;
+    }
+
+    private static Recipe snapshot(Recipe recipe) {
+        Recipe snapshot = new Recipe();
+        snapshot.setId(recipe.getId());
+        snapshot.setVersion(recipe.getVersion());
+        snapshot.setName(recipe.getName());
+        snapshot.setCategory(recipe.getCategory());
+        snapshot.setCategoryKey(recipe.getCategoryKey());
+        snapshot.setDate(recipe.getDate());
+        snapshot.setDescription(recipe.getDescription());
+        snapshot.setIngredients(copy(recipe.getIngredients()));
+        snapshot.setDirections(copy(recipe.getDirections()));
+        if (recipe.getAuthor() != null) {
+            User author = new User();
+            author.setId(recipe.getAuthor().getId());
+            snapshot.setAuthor(author);
+        }
+        return snapshot;
+    }
+
+    private static List<String> copy(List<String> values) {
+        return values == null ? null : Collections.unmodifiableList(new ArrayList<>(values));
+    }
+}
@@ -0,0 +1,10 @@
+package kosukeroku.recipe_management_system.event;
+
+import lombok.Value;
+
+@Value
+public class UserRegisteredEvent {
+
+    long userId;
+    String email;
+}
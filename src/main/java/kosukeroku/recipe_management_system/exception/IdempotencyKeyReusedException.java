@@ -0,0 +1,7 @@
+package kosukeroku.recipe_management_system.exception;
+
+public class IdempotencyKeyReusedException extends RuntimeException {
+    public IdempotencyKeyReusedException(String key) {
+        super("Idempotency key " + key + " was already used for a different recipe");
+    }
+}
@@ -0,0 +1,7 @@
+package kosukeroku.recipe_management_system.exception;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String cursor) {
+        super("Invalid page cursor: " + cursor);
+    }
+}
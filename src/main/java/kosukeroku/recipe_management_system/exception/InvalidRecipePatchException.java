@@ -0,0 +1,16 @@
+package kosukeroku.recipe_management_system.exception;
+
+import lombok.Getter;
+
+import java.util.Map;
+
+@Getter
+public class InvalidRecipePatchException extends RuntimeException {
+
+    private final Map<String, String> errors;
+
+    public InvalidRecipePatchException(Map<String, String> errors) {
+        super("Invalid recipe patch: " + errors);
+        this.errors = errors;
+    }
+}
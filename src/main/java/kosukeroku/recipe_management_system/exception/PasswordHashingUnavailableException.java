@@ -0,0 +1,7 @@
+package kosukeroku.recipe_management_system.exception;
+
+public class PasswordHashingUnavailableException extends RuntimeException {
+    public PasswordHashingUnavailableException() {
+        super("Authentication service is busy, please retry shortly");
+    }
+}
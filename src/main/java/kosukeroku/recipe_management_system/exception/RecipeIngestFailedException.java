@@ -0,0 +1,7 @@
+package kosukeroku.recipe_management_system.exception;
+
+public class RecipeIngestFailedException extends RuntimeException {
+    public RecipeIngestFailedException(long id, String reason) {
+        super("Recipe with id " + id + " was accepted but could not be stored: " + reason);
+    }
+}
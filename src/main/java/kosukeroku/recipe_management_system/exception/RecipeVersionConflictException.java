@@ -0,0 +1,7 @@
+package kosukeroku.recipe_management_system.exception;
+
+public class RecipeVersionConflictException extends RuntimeException {
+    public RecipeVersionConflictException(long id) {
+        super("Recipe with id " + id + " has been modified by another request");
+    }
+}
@@ -0,0 +1,127 @@
+package kosukeroku.recipe_management_system.index;
+
+import kosukeroku.recipe_management_system.dto.CategoryFacetDto;
+import kosukeroku.recipe_management_system.model.Recipe;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Slf4j
+@Component
+public class CategoryFacetIndex implements RecipeIndex {
+
+    private static final Comparator<CategoryFacetDto> BY_COUNT_THEN_NAME =
+            Comparator.comparingLong(CategoryFacetDto::getCount).reversed()
+                    .thenComparing(CategoryFacetDto::getCategory);
+
+    private final Map<Long, String> categoryByRecipe = new HashMap<>();
+    private final Map<String, Long> counts = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private long modifications;
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            categoryByRecipe.clear();
+            counts.clear();
+            modifications++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void add(Recipe recipe) {
+        String category = Recipe.normalizeCategory(recipe.getCategory());
+        if (category == null) {
+            remove(recipe.getId());
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            String previous = categoryByRecipe.put(recipe.getId(), category);
+            if (!category.equals(previous)) {
+                decrement(previous);
+                counts.merge(category, 1L, Long::sum);
+            }
+            modifications++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(long recipeId) {
+        lock.writeLock().lock();
+        try {
+            decrement(categoryByRecipe.remove(recipeId));
+            modifications++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<CategoryFacetDto> facets() {
+        lock.readLock().lock();
+        try {
+            return counts.entrySet().stream()
+                    .map(entry -> new CategoryFacetDto(entry.getKey(), entry.getValue()))
+                    .sorted(BY_COUNT_THEN_NAME)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long modifications() {
+        lock.readLock().lock();
+        try {
+            return modifications;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean countsMatch(Map<String, Long> actualCounts) {
+        lock.readLock().lock();
+        try {
+            return counts.equals(actualCounts);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean reconcile(Map<Long, String> actualCategories, long observedModifications) {
+        lock.writeLock().lock();
+        try {
+            if (modifications != observedModifications) {
+                return false;
+            }
+            if (!categoryByRecipe.equals(actualCategories)) {
+                log.warn("Category facets drifted from the recipes table, rebuilding from {} recipes (was {})",
+                        actualCategories.size(), categoryByRecipe.size());
+                categoryByRecipe.clear();
+                categoryByRecipe.putAll(actualCategories);
+                counts.clear();
+                actualCategories.values().forEach(category -> counts.merge(category, 1L, Long::sum));
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void decrement(String category) {
+        if (category != null) {
+            counts.computeIfPresent(category, (key, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+}
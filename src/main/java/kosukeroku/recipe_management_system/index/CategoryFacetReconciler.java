@@ -0,0 +1,47 @@
+package kosukeroku.recipe_management_system.index;
+
+import kosukeroku.recipe_management_system.repository.RecipeCategoryCount;
+import kosukeroku.recipe_management_system.repository.RecipeCategoryRow;
+import kosukeroku.recipe_management_system.repository.RecipeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CategoryFacetReconciler {
+
+    public static final int MAX_ATTEMPTS = 3;
+
+    private final CategoryFacetIndex categoryFacetIndex;
+    private final RecipeRepository recipeRepository;
+
+    @Scheduled(initialDelayString = "${recipes.facets.reconcile-interval-ms:300000}",
+            fixedDelayString = "${recipes.facets.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            long observed = categoryFacetIndex.modifications();
+            Map<String, Long> actualCounts = recipeRepository.countByCategoryKey().stream()
+                    .collect(Collectors.toMap(RecipeCategoryCount::categoryKey, RecipeCategoryCount::count));
+            if (categoryFacetIndex.countsMatch(actualCounts)) {
+                return;
+            }
+            if (categoryFacetIndex.modifications() != observed) {
+                continue;
+            }
+
+            Map<Long, String> actualCategories = recipeRepository.findCategoryKeys().stream()
+                    .collect(Collectors.toMap(RecipeCategoryRow::id, RecipeCategoryRow::categoryKey));
+            if (categoryFacetIndex.reconcile(actualCategories, observed)) {
+                return;
+            }
+        }
+        log.warn("Skipped category facet reconcile after {} attempts, recipes kept changing while counting",
+                MAX_ATTEMPTS);
+    }
+}
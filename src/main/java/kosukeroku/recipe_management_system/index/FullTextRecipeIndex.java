@@ -0,0 +1,136 @@
+package kosukeroku.recipe_management_system.index;
+
+import kosukeroku.recipe_management_system.model.Recipe;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Component
+public class FullTextRecipeIndex implements RecipeIndex {
+
+    private static final int NAME_WEIGHT = 3;
+    private static final int INGREDIENT_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    private final Map<Long, Set<String>> termsByRecipe = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            termsByRecipe.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void add(Recipe recipe) {
+        Map<String, Integer> weights = new HashMap<>();
+        addTerms(weights, recipe.getName(), NAME_WEIGHT);
+        addTerms(weights, recipe.getDescription(), DESCRIPTION_WEIGHT);
+        if (recipe.getIngredients() != null) {
+            recipe.getIngredients().forEach(ingredient -> addTerms(weights, ingredient, INGREDIENT_WEIGHT));
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeTerms(recipe.getId());
+            weights.forEach((term, weight) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(recipe.getId(), weight));
+            termsByRecipe.put(recipe.getId(), weights.keySet());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(long recipeId) {
+        lock.writeLock().lock();
+        try {
+            removeTerms(recipeId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Long> search(String query, int limit) {
+        Set<String> terms = new LinkedHashSet<>(TextNormalizer.tokenize(query));
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            List<Map<Long, Integer>> matches = new ArrayList<>();
+            for (String term : terms) {
+                Map<Long, Integer> posting = postings.get(term);
+                if (posting == null) {
+                    return List.of();
+                }
+                matches.add(posting);
+            }
+            matches.sort(Comparator.comparingInt(Map::size));
+
+            Map<Long, Double> scores = new HashMap<>();
+            Map<Long, Integer> rarest = matches.get(0);
+            for (Long recipeId : rarest.keySet()) {
+                double score = 0;
+                for (Map<Long, Integer> posting : matches) {
+                    Integer weight = posting.get(recipeId);
+                    if (weight == null) {
+                        score = -1;
+                        break;
+                    }
+                    score += weight * inverseDocumentFrequency(posting.size());
+                }
+                if (score >= 0) {
+                    scores.put(recipeId, score);
+                }
+            }
+
+            return scores.entrySet().stream()
+                    .sorted(Map.Entry.<Long, Double>comparingByValue().reversed()
+                            .thenComparing(Map.Entry.<Long, Double>comparingByKey(Comparator.reverseOrder())))
+                    .limit(limit)
+                    .map(Map.Entry::getKey)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private double inverseDocumentFrequency(int documentFrequency) {
+        return Math.log(1 + (double) termsByRecipe.size() / documentFrequency);
+    }
+
+    private void addTerms(Map<String, Integer> weights, String text, int weight) {
+        for (String term : TextNormalizer.tokenize(text)) {
+            weights.merge(term, weight, Integer::sum);
+        }
+    }
+
+    private void removeTerms(long recipeId) {
+        Set<String> terms = termsByRecipe.remove(recipeId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<Long, Integer> posting = postings.get(term);
+            posting.remove(recipeId);
+            if (posting.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package kosukeroku.recipe_management_system.index;
+
+import kosukeroku.recipe_management_system.model.Recipe;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Component
+public class IngredientMatchIndex implements RecipeIndex {
+
+    private static final Comparator<Candidate> RANKING = Comparator.comparingDouble(Candidate::coverage).reversed()
+            .thenComparingInt(Candidate::missingCount)
+            .thenComparing(Comparator.comparingLong(Candidate::recipeId).reversed());
+
+    private final Map<String, Integer> dictionary = new HashMap<>();
+    private final List<String> ingredientNames = new ArrayList<>();
+    private final Map<Long, int[]> ingredientsByRecipe = new HashMap<>();
+    private final Map<Integer, Set<Long>> recipesByIngredient = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public record Match(long recipeId, double coverage, List<String> missingIngredients) {
+    }
+
+    private record Candidate(long recipeId, int satisfied, int required) {
+
+        double coverage() {
+            return (double) satisfied / required;
+        }
+
+        int missingCount() {
+            return required - satisfied;
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            ingredientsByRecipe.clear();
+            recipesByIngredient.clear();
+            dictionary.clear();
+            ingredientNames.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void add(Recipe recipe) {
+        lock.writeLock().lock();
+        try {
+            removeRecipe(recipe.getId());
+            if (recipe.getIngredients() == null) {
+                return;
+            }
+            int[] ingredientIds = recipe.getIngredients().stream()
+                    .map(TextNormalizer::normalizeIngredient)
+                    .filter(key -> !key.isEmpty())
+                    .mapToInt(this::ingredientId)
+                    .distinct()
+                    .sorted()
+                    .toArray();
+            if (ingredientIds.length == 0) {
+                return;
+            }
+            ingredientsByRecipe.put(recipe.getId(), ingredientIds);
+            for (int ingredientId : ingredientIds) {
+                recipesByIngredient.computeIfAbsent(ingredientId, id -> new HashSet<>()).add(recipe.getId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(long recipeId) {
+        lock.writeLock().lock();
+        try {
+            removeRecipe(recipeId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Match> match(Collection<String> availableIngredients, int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Set<Integer> available = new HashSet<>();
+            for (String ingredient : availableIngredients) {
+                Integer ingredientId = dictionary.get(TextNormalizer.normalizeIngredient(ingredient));
+                if (ingredientId != null) {
+                    available.add(ingredientId);
+                }
+            }
+
+            Map<Long, Integer> satisfied = new HashMap<>();
+            for (Integer ingredientId : available) {
+                for (Long recipeId : recipesByIngredient.getOrDefault(ingredientId, Set.of())) {
+                    satisfied.merge(recipeId, 1, Integer::sum);
+                }
+            }
+
+            PriorityQueue<Candidate> best = new PriorityQueue<>(limit + 1, RANKING.reversed());
+            for (Map.Entry<Long, Integer> entry : satisfied.entrySet()) {
+                best.add(new Candidate(entry.getKey(), entry.getValue(), ingredientsByRecipe.get(entry.getKey()).length));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+
+            return best.stream()
+                    .sorted(RANKING)
+                    .map(candidate -> new Match(candidate.recipeId(), candidate.coverage(),
+                            missingIngredients(candidate.recipeId(), available)))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<String> missingIngredients(long recipeId, Set<Integer> available) {
+        return Arrays.stream(ingredientsByRecipe.get(recipeId))
+                .filter(ingredientId -> !available.contains(ingredientId))
+                .mapToObj(ingredientNames::get)
+                .toList();
+    }
+
+    private int ingredientId(String key) {
+        return dictionary.computeIfAbsent(key, k -> {
+            ingredientNames.add(k);
+            return ingredientNames.size() - 1;
+        });
+    }
+
+    private void removeRecipe(long recipeId) {
+        int[] ingredientIds = ingredientsByRecipe.remove(recipeId);
+        if (ingredientIds == null) {
+            return;
+        }
+        for (int ingredientId : ingredientIds) {
+            Set<Long> recipes = recipesByIngredient.get(ingredientId);
+            recipes.remove(recipeId);
+            if (recipes.isEmpty()) {
+                recipesByIngredient.remove(ingredientId);
+            }
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package kosukeroku.recipe_management_system.index;
+
+import kosukeroku.recipe_management_system.model.Recipe;
+
+public interface RecipeIndex {
+
+    void clear();
+
+    void add(Recipe recipe);
+
+    void remove(long recipeId);
+}
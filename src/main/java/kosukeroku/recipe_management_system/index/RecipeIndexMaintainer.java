@@ -0,0 +1,154 @@
+package kosukeroku.recipe_management_system.index;
+
+import kosukeroku.recipe_management_system.event.RecipeChangedEvent;
+import kosukeroku.recipe_management_system.model.Recipe;
+import kosukeroku.recipe_management_system.repository.RecipeRepository;
+import kosukeroku.recipe_management_system.service.RecipeCursor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Slf4j
+@Component
+public class RecipeIndexMaintainer implements SmartLifecycle {
+
+    private static final int REBUILD_PAGE_SIZE = 500;
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 2048;
+
+    private final List<RecipeIndex> indexes;
+    private final RecipeRepository recipeRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Lock rebuildLock = new ReentrantLock();
+    private final Map<Long, Long> indexedVersions = new HashMap<>();
+    private List<RecipeChangedEvent> changesDuringRebuild;
+    private volatile boolean running;
+
+    public RecipeIndexMaintainer(List<RecipeIndex> indexes, RecipeRepository recipeRepository,
+                                 PlatformTransactionManager transactionManager) {
+        this.indexes = indexes;
+        this.recipeRepository = recipeRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public void start() {
+        rebuild();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            changesDuringRebuild = new ArrayList<>();
+            indexedVersions.clear();
+            indexes.forEach(RecipeIndex::clear);
+        } finally {
+            rebuildLock.unlock();
+        }
+
+        long indexed = 0;
+        try {
+            RecipeCursor position = null;
+            List<Recipe> page;
+            do {
+                page = readPage(position);
+                index(page);
+                if (!page.isEmpty()) {
+                    position = RecipeCursor.of(page.get(page.size() - 1));
+                }
+                indexed += page.size();
+            } while (page.size() == REBUILD_PAGE_SIZE);
+        } finally {
+            rebuildLock.lock();
+            try {
+                changesDuringRebuild.forEach(this::apply);
+                log.info("Indexed {} recipes into {} recipe indexes, replayed {} changes made while indexing",
+                        indexed, indexes.size(), changesDuringRebuild.size());
+                changesDuringRebuild = null;
+            } finally {
+                rebuildLock.unlock();
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipeChanged(RecipeChangedEvent event) {
+        rebuildLock.lock();
+        try {
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(event);
+            } else {
+                apply(event);
+            }
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private void index(List<Recipe> page) {
+        rebuildLock.lock();
+        try {
+            for (Recipe recipe : page) {
+                indexes.forEach(index -> index.add(recipe));
+                indexedVersions.put(recipe.getId(), recipe.getVersion());
+            }
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private void apply(RecipeChangedEvent event) {
+        Long indexed = indexedVersions.get(event.getRecipeId());
+        if (indexed != null && (event.isDeleted() ? event.getVersion() < indexed : event.getVersion() <= indexed)) {
+            return;
+        }
+
+        indexedVersions.put(event.getRecipeId(), event.getVersion());
+        for (RecipeIndex index : indexes) {
+            if (event.isDeleted()) {
+                index.remove(event.getRecipeId());
+            } else {
+                index.add(event.getRecipe());
+            }
+        }
+    }
+
+    private List<Recipe> readPage(RecipeCursor position) {
+        return readOnlyTransaction.execute(status -> {
+            Pageable limit = PageRequest.of(0, REBUILD_PAGE_SIZE);
+            List<Recipe> page = position == null
+                    ? recipeRepository.findFirstPage(limit)
+                    : recipeRepository.findPageAfter(position.date(), position.id(), limit);
+            recipeRepository.fetchCollections(page);
+            return page;
+        });
+    }
+}
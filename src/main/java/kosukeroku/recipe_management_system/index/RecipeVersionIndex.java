@@ -0,0 +1,66 @@
+package kosukeroku.recipe_management_system.index;
+
+import kosukeroku.recipe_management_system.model.Recipe;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class RecipeVersionIndex implements RecipeIndex {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<Long, Long> versions = new ConcurrentHashMap<>();
+    private final Map<Long, Long> authors = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicLong> authorRevisions = new ConcurrentHashMap<>();
+    private final AtomicLong catalogRevision = new AtomicLong();
+
+    @Override
+    public void clear() {
+        versions.clear();
+        authors.clear();
+        authorRevisions.values().forEach(AtomicLong::incrementAndGet);
+        catalogRevision.incrementAndGet();
+    }
+
+    @Override
+    public void add(Recipe recipe) {
+        versions.put(recipe.getId(), recipe.getVersion());
+        Long authorId = recipe.getAuthor() == null ? null : recipe.getAuthor().getId();
+        Long previousAuthorId = authorId == null ? authors.remove(recipe.getId()) : authors.put(recipe.getId(), authorId);
+        touchAuthor(authorId);
+        if (previousAuthorId != null && !previousAuthorId.equals(authorId)) {
+            touchAuthor(previousAuthorId);
+        }
+        catalogRevision.incrementAndGet();
+    }
+
+    @Override
+    public void remove(long recipeId) {
+        versions.remove(recipeId);
+        touchAuthor(authors.remove(recipeId));
+        catalogRevision.incrementAndGet();
+    }
+
+    public OptionalLong version(long recipeId) {
+        Long version = versions.get(recipeId);
+        return version == null ? OptionalLong.empty() : OptionalLong.of(version);
+    }
+
+    public String catalogVersion() {
+        return epoch + "-" + catalogRevision.get();
+    }
+
+    public String authorVersion(long authorId) {
+        AtomicLong revision = authorRevisions.get(authorId);
+        return epoch + "-" + authorId + "-" + (revision == null ? 0 : revision.get());
+    }
+
+    private void touchAuthor(Long authorId) {
+        if (authorId != null) {
+            authorRevisions.computeIfAbsent(authorId, id -> new AtomicLong()).incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package kosukeroku.recipe_management_system.index;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+public final class TextNormalizer {
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "the", "of", "with", "in", "on", "to", "or", "for", "into");
+    private static final Set<String> INGREDIENT_QUALIFIERS = Set.of(
+            "cup", "tablespoon", "tbsp", "teaspoon", "tsp", "g", "gram", "kg", "kilogram", "mg", "ml", "l",
+            "liter", "litre", "oz", "ounce", "lb", "pound", "pinch", "dash", "clove", "slice", "piece", "can",
+            "handful", "bunch", "sprig", "large", "medium", "small", "fresh", "chopped", "diced", "minced",
+            "sliced", "grated", "ground", "whole", "optional", "taste");
+
+    private TextNormalizer() {
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String word : NON_WORD.split(text.toLowerCase(Locale.ROOT))) {
+            if (!word.isEmpty() && !STOP_WORDS.contains(word)) {
+                tokens.add(stem(word));
+            }
+        }
+        return tokens;
+    }
+
+    public static String normalizeIngredient(String ingredient) {
+        StringBuilder key = new StringBuilder();
+        for (String token : tokenize(ingredient)) {
+            if (INGREDIENT_QUALIFIERS.contains(token) || token.chars().allMatch(Character::isDigit)) {
+                continue;
+            }
+            if (!key.isEmpty()) {
+                key.append(' ');
+            }
+            key.append(token);
+        }
+        return key.toString();
+    }
+
+    public static String stem(String word) {
+        if (word.length() > 4 && word.endsWith("ies")) {
+            return word.substring(0, word.length() - 3) + "y";
+        }
+        if (word.length() > 3 && (word.endsWith("oes") || word.endsWith("ches") || word.endsWith("shes")
+                || word.endsWith("sses") || word.endsWith("xes"))) {
+            return word.substring(0, word.length() - 2);
+        }
+        if (word.length() > 3 && word.endsWith("s") && !word.endsWith("ss") && !word.endsWith("us")) {
+            return word.substring(0, word.length() - 1);
+        }
+        return word;
+    }
+}
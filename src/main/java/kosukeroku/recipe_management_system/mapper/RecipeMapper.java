@@ -3,6 +3,7 @@ package kosukeroku.recipe_management_system.mapper;
 import kosukeroku.recipe_management_system.dto.RecipeRequestDto;
 import kosukeroku.recipe_management_system.dto.RecipeResponseDto;
 import kosukeroku.recipe_management_system.model.Recipe;
+import kosukeroku.recipe_management_system.repository.RecipeRow;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -10,6 +11,7 @@ import org.springframework.stereotype.Component;
 
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Component
 public class RecipeMapper {
@@ -18,10 +20,11 @@ public class RecipeMapper {
         RecipeResponseDto recipeDto = new RecipeResponseDto();
         recipeDto.setName(recipe.getName());
         recipeDto.setDescription(recipe.getDescription());
-        recipeDto.setIngredients(recipe.getIngredients());
-        recipeDto.setDirections(recipe.getDirections());
+        recipeDto.setIngredients(List.copyOf(recipe.getIngredients()));
+        recipeDto.setDirections(List.copyOf(recipe.getDirections()));
         recipeDto.setCategory(recipe.getCategory());
         recipeDto.setDate(recipe.getDate().toString());
+        recipeDto.setVersion(recipe.getVersion());
 
         if (recipe.getAuthor() != null) {
             recipeDto.setAuthorEmail(recipe.getAuthor().getEmail());
@@ -30,6 +33,19 @@ public class RecipeMapper {
         return recipeDto;
     }
 
+    public RecipeResponseDto toDto(RecipeRow row, List<String> ingredients, List<String> directions) {
+        RecipeResponseDto recipeDto = new RecipeResponseDto();
+        recipeDto.setName(row.name());
+        recipeDto.setDescription(row.description());
+        recipeDto.setIngredients(ingredients);
+        recipeDto.setDirections(directions);
+        recipeDto.setCategory(row.category());
+        recipeDto.setDate(row.date().toString());
+        recipeDto.setAuthorEmail(row.authorEmail());
+        recipeDto.setVersion(row.version());
+        return recipeDto;
+    }
+
     public Recipe toEntity(RecipeRequestDto recipeDto) {
         Recipe recipe = new Recipe();
         recipe.setName(recipeDto.getName());
@@ -0,0 +1,87 @@
+package kosukeroku.recipe_management_system.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+public class JdbcQueryMetrics implements QueryExecutionListener {
+
+    private static final ThreadLocal<RequestQueryStats> CURRENT_REQUEST = new ThreadLocal<>();
+
+    private final Timer queryTimer;
+    private final Counter slowQueries;
+    private final DistributionSummary queriesPerRequest;
+    private final Timer queryTimePerRequest;
+    private final long slowQueryThresholdMillis;
+
+    public JdbcQueryMetrics(MeterRegistry meterRegistry,
+                            @Value("${jdbc.slow-query.threshold:200ms}") Duration slowQueryThreshold) {
+        this.queryTimer = Timer.builder("jdbc.query")
+                .description("Execution time of individual JDBC statements")
+                .register(meterRegistry);
+        this.slowQueries = Counter.builder("jdbc.query.slow")
+                .description("JDBC statements slower than the slow-query threshold")
+                .register(meterRegistry);
+        this.queriesPerRequest = DistributionSummary.builder("http.server.requests.jdbc.queries")
+                .description("JDBC statements executed per HTTP request")
+                .register(meterRegistry);
+        this.queryTimePerRequest = Timer.builder("http.server.requests.jdbc.time")
+                .description("Total JDBC execution time per HTTP request")
+                .register(meterRegistry);
+        this.slowQueryThresholdMillis = slowQueryThreshold.toMillis();
+    }
+
+    public void startRequest() {
+        CURRENT_REQUEST.set(new RequestQueryStats());
+    }
+
+    public void finishRequest() {
+        RequestQueryStats stats = CURRENT_REQUEST.get();
+        CURRENT_REQUEST.remove();
+        if (stats != null) {
+            queriesPerRequest.record(stats.queries);
+            queryTimePerRequest.record(stats.elapsedMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsedMillis = execInfo.getElapsedTime();
+        queryTimer.record(elapsedMillis, TimeUnit.MILLISECONDS);
+
+        RequestQueryStats stats = CURRENT_REQUEST.get();
+        if (stats != null) {
+            stats.queries++;
+            stats.elapsedMillis += elapsedMillis;
+        }
+
+        if (elapsedMillis >= slowQueryThresholdMillis) {
+            slowQueries.increment();
+            log.warn("Slow query ({} ms, batch size {}): {}", elapsedMillis, execInfo.getBatchSize(),
+                    queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; ")));
+        }
+    }
+
+    private static class RequestQueryStats {
+        private int queries;
+        private long elapsedMillis;
+    }
+}
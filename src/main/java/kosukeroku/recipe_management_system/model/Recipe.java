@@ -6,34 +6,63 @@ import jakarta.validation.constraints.NotEmpty;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Locale;
 
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "recipes")
+@DynamicUpdate
+@Table(name = "recipes", indexes = {
+        @Index(name = "idx_recipes_date_id", columnList = "date DESC, id DESC"),
+        @Index(name = "idx_recipes_category_key_date", columnList = "category_key, date DESC"),
+        @Index(name = "idx_recipes_user_date_id", columnList = "user_id, date DESC, id DESC")
+})
 public class Recipe {
 
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "recipes_seq")
+    @SequenceGenerator(name = "recipes_seq", sequenceName = "recipes_seq", allocationSize = ID_ALLOCATION_SIZE)
     private long id;
 
+    @Version
+    @Column(columnDefinition = "bigint default 0 not null")
+    private long version;
+
     private String name;
     private String category;
+
+    @Column(name = "category_key")
+    private String categoryKey;
+
     private LocalDateTime date;
     private String description;
 
     @ElementCollection
+    @OrderColumn(name = "ingredients_order")
     private List<String> ingredients;
 
     @ElementCollection
+    @OrderColumn(name = "directions_order")
     private List<String> directions;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User author;
 
+    public static String normalizeCategory(String category) {
+        return category == null ? null : category.trim().toLowerCase(Locale.ROOT);
+    }
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        categoryKey = normalizeCategory(category);
+    }
 }
\ No newline at end of file
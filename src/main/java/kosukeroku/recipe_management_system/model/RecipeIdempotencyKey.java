@@ -0,0 +1,42 @@
+package kosukeroku.recipe_management_system.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "recipe_idempotency_keys")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecipeIdempotencyKey {
+
+    @EmbeddedId
+    private Key key;
+
+    @Column(name = "recipe_id", nullable = false)
+    private long recipeId;
+
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Embeddable
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+
+        @Column(name = "author_id", nullable = false)
+        private long authorId;
+
+        @Column(name = "idempotency_key", nullable = false)
+        private String idempotencyKey;
+    }
+}
@@ -0,0 +1,35 @@
+package kosukeroku.recipe_management_system.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "recipe_ingest_failures")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecipeIngestFailure {
+
+    public static final int MAX_REASON_LENGTH = 1000;
+
+    @Id
+    @Column(name = "recipe_id")
+    private long recipeId;
+
+    @Column(name = "author_id", nullable = false)
+    private long authorId;
+
+    @Column(length = MAX_REASON_LENGTH, nullable = false)
+    private String reason;
+
+    @Lob
+    @Column(nullable = false)
+    private String payload;
+
+    @Column(name = "failed_at", nullable = false)
+    private LocalDateTime failedAt;
+}
@@ -0,0 +1,4 @@
+package kosukeroku.recipe_management_system.repository;
+
+public record RecipeCategoryRow(Long id, String categoryKey) {
+}
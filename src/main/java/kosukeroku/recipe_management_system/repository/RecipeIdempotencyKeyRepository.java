@@ -0,0 +1,10 @@
+package kosukeroku.recipe_management_system.repository;
+
+import kosukeroku.recipe_management_system.model.RecipeIdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface RecipeIdempotencyKeyRepository
+        extends JpaRepository<RecipeIdempotencyKey, RecipeIdempotencyKey.Key> {
+}
@@ -0,0 +1,9 @@
+package kosukeroku.recipe_management_system.repository;
+
+import kosukeroku.recipe_management_system.model.RecipeIngestFailure;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface RecipeIngestFailureRepository extends JpaRepository<RecipeIngestFailure, Long> {
+}
@@ -0,0 +1,4 @@
+package kosukeroku.recipe_management_system.repository;
+
+public record RecipeLineRow(Long recipeId, String value) {
+}
@@ -1,18 +1,30 @@
 package kosukeroku.recipe_management_system.repository;
 
+import jakarta.persistence.QueryHint;
 import kosukeroku.recipe_management_system.model.Recipe;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface RecipeRepository extends JpaRepository<Recipe, Long> {
 
+    String SELECT_ROW = "select new kosukeroku.recipe_management_system.repository.RecipeRow("
+            + "r.id, r.name, r.category, r.date, r.description, a.email, r.version) from Recipe r left join r.author a ";
+
     @EntityGraph(attributePaths = {"author"})
     @Override
     List<Recipe> findAll();
@@ -22,8 +34,74 @@ public interface RecipeRepository extends JpaRepository<Recipe, Long> {
     Optional<Recipe> findById(Long id);
 
     @EntityGraph(attributePaths = {"author"})
-    List<Recipe> findByCategoryIgnoreCaseOrderByDateDesc(String category);
+    @Query("select r from Recipe r order by r.date desc, r.id desc")
+    List<Recipe> findFirstPage(Pageable pageable);
 
     @EntityGraph(attributePaths = {"author"})
-    List<Recipe> findByNameContainingIgnoreCaseOrderByDateDesc(String category);
+    @Query("select r from Recipe r where r.date < :date or (r.date = :date and r.id < :id) order by r.date desc, r.id desc")
+    List<Recipe> findPageAfter(@Param("date") LocalDateTime date, @Param("id") long id, Pageable pageable);
+
+    @Query(SELECT_ROW + "order by r.date desc, r.id desc")
+    List<RecipeRow> findFirstPageRows(Pageable pageable);
+
+    @Query(SELECT_ROW + "where r.date < :date or (r.date = :date and r.id < :id) order by r.date desc, r.id desc")
+    List<RecipeRow> findPageRowsAfter(@Param("date") LocalDateTime date, @Param("id") long id, Pageable pageable);
+
+    @Query(SELECT_ROW + "where r.author.id = :authorId order by r.date desc, r.id desc")
+    List<RecipeRow> findFirstPageRowsByAuthor(@Param("authorId") long authorId, Pageable pageable);
+
+    @Query(SELECT_ROW + "where r.author.id = :authorId and (r.date < :date or (r.date = :date and r.id < :id)) "
+            + "order by r.date desc, r.id desc")
+    List<RecipeRow> findPageRowsByAuthorAfter(@Param("authorId") long authorId, @Param("date") LocalDateTime date,
+                                              @Param("id") long id, Pageable pageable);
+
+    @Query(SELECT_ROW + "where r.id = :id")
+    Optional<RecipeRow> findRowById(@Param("id") long id);
+
+    @Query(SELECT_ROW + "where r.id in :ids")
+    List<RecipeRow> findRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(SELECT_ROW + "where r.categoryKey = :categoryKey order by r.date desc, r.id desc")
+    List<RecipeRow> findRowsByCategoryKey(@Param("categoryKey") String categoryKey);
+
+    @Query(SELECT_ROW + "where lower(r.name) like :pattern escape '\\' order by r.date desc, r.id desc")
+    List<RecipeRow> findRowsByNameLike(@Param("pattern") String pattern);
+
+    @Query("select new kosukeroku.recipe_management_system.repository.RecipeCategoryRow(r.id, r.categoryKey) "
+            + "from Recipe r where r.categoryKey is not null")
+    List<RecipeCategoryRow> findCategoryKeys();
+
+    @Query("select new kosukeroku.recipe_management_system.repository.RecipeCategoryCount(r.categoryKey, count(r)) "
+            + "from Recipe r where r.categoryKey is not null group by r.categoryKey")
+    List<RecipeCategoryCount> countByCategoryKey();
+
+    @Query("select new kosukeroku.recipe_management_system.repository.RecipeLineRow(r.id, i) "
+            + "from Recipe r join r.ingredients i where r.id in :ids order by r.id, index(i)")
+    List<RecipeLineRow> findIngredientLines(@Param("ids") Collection<Long> ids);
+
+    @Query("select new kosukeroku.recipe_management_system.repository.RecipeLineRow(r.id, d) "
+            + "from Recipe r join r.directions d where r.id in :ids order by r.id, index(d)")
+    List<RecipeLineRow> findDirectionLines(@Param("ids") Collection<Long> ids);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select r from Recipe r left join fetch r.author order by r.id")
+    Stream<Recipe> streamAll();
+
+    @Query("select distinct r from Recipe r left join fetch r.ingredients where r.id in :ids")
+    List<Recipe> fetchIngredients(@Param("ids") Collection<Long> ids);
+
+    @Query("select distinct r from Recipe r left join fetch r.directions where r.id in :ids")
+    List<Recipe> fetchDirections(@Param("ids") Collection<Long> ids);
+
+    default void fetchCollections(List<Recipe> recipes) {
+        if (recipes.isEmpty()) {
+            return;
+        }
+        List<Long> ids = recipes.stream().map(Recipe::getId).toList();
+        fetchIngredients(ids);
+        fetchDirections(ids);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,7 @@
+package kosukeroku.recipe_management_system.repository;
+
+import java.time.LocalDateTime;
+
+public record RecipeRow(Long id, String name, String category, LocalDateTime date, String description,
+                        String authorEmail, long version) {
+}
@@ -1,11 +1,16 @@
 package kosukeroku.recipe_management_system.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import kosukeroku.recipe_management_system.exception.InvalidCredentialsException;
 import kosukeroku.recipe_management_system.security.UserDetailsServiceImpl;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -21,6 +26,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
     private final UserDetailsServiceImpl userDetailsService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${jwt.stateless-principal.enabled:false}")
+    private boolean statelessPrincipal;
+
+    private Timer parseTimer;
+    private Timer verifyTimer;
+    private Timer loadUserTimer;
+
+    @PostConstruct
+    public void init() {
+        parseTimer = phaseTimer("parse");
+        verifyTimer = phaseTimer("verify");
+        loadUserTimer = phaseTimer("load_user");
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -44,12 +64,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         try {
             final String jwt = authHeader.substring(7);
-            final String userEmail = jwtTokenProvider.extractUsername(jwt);
+            final String userEmail = parseTimer.record(() -> jwtTokenProvider.extractUsername(jwt));
 
             if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+                UserDetails userDetails = loadUserTimer.record(() -> loadPrincipal(jwt, userEmail));
 
-                if (jwtTokenProvider.validateToken(jwt, userDetails)) {
+                if (verifyTimer.record(() -> jwtTokenProvider.validateToken(jwt, userDetails))) {
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                             userDetails,
                             null,
@@ -70,6 +90,25 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
     }
 
+    private UserDetails loadPrincipal(String jwt, String userEmail) {
+        if (statelessPrincipal) {
+            Long userId = jwtTokenProvider.extractUserId(jwt);
+            if (userId != null) {
+                if (!userDetailsService.isActiveUser(userEmail)) {
+                    throw new InvalidCredentialsException();
+                }
+                return UserPrincipal.of(userId, userEmail);
+            }
+        }
+        return this.userDetailsService.loadUserByUsername(userEmail);
+    }
+
+    private Timer phaseTimer(String phase) {
+        return Timer.builder("auth.jwt.filter")
+                .description("Time spent in each phase of JWT request authentication")
+                .tag("phase", phase)
+                .register(meterRegistry);
+    }
 
     private boolean isPublicEndpoint(String uri) {
         return uri.startsWith("/h2-console") ||
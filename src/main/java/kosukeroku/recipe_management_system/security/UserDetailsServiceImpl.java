@@ -1,10 +1,12 @@
 package kosukeroku.recipe_management_system.security;
 
+import kosukeroku.recipe_management_system.config.CacheConfig;
 import kosukeroku.recipe_management_system.exception.InvalidCredentialsException;
 import kosukeroku.recipe_management_system.model.User;
 import kosukeroku.recipe_management_system.repository.UserRepository;
 import kosukeroku.recipe_management_system.security.UserPrincipal;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -23,4 +25,9 @@ public class UserDetailsServiceImpl implements UserDetailsService {
 
         return new UserPrincipal(user);
     }
+
+    @Cacheable(cacheNames = CacheConfig.ACTIVE_USERS_CACHE)
+    public boolean isActiveUser(String email) {
+        return userRepository.existsByEmail(email);
+    }
 }
\ No newline at end of file
@@ -14,6 +14,13 @@ public class UserPrincipal implements UserDetails {
 
     private final User user;
 
+    public static UserPrincipal of(long id, String email) {
+        User user = new User();
+        user.setId(id);
+        user.setEmail(email);
+        return new UserPrincipal(user);
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER"));
@@ -1,9 +1,11 @@
 package kosukeroku.recipe_management_system.service;
 
+import io.micrometer.core.annotation.Timed;
 import kosukeroku.recipe_management_system.dto.LoginJwtResponseDto;
 import kosukeroku.recipe_management_system.dto.LoginRequestDto;
 import kosukeroku.recipe_management_system.dto.RegistrationRequestDto;
 import kosukeroku.recipe_management_system.dto.RegistrationResponseDto;
+import kosukeroku.recipe_management_system.event.UserRegisteredEvent;
 import kosukeroku.recipe_management_system.exception.EmailAlreadyExistsException;
 import kosukeroku.recipe_management_system.exception.InvalidCredentialsException;
 import kosukeroku.recipe_management_system.model.User;
@@ -11,6 +13,7 @@ import kosukeroku.recipe_management_system.repository.UserRepository;
 import kosukeroku.recipe_management_system.security.JwtTokenProvider;
 import kosukeroku.recipe_management_system.security.UserPrincipal;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -20,12 +23,14 @@ import org.springframework.stereotype.Service;
 
 @Service
 @RequiredArgsConstructor
+@Timed("auth.service")
 public class AuthenticationService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
     private final JwtTokenProvider jwtTokenProvider;
+    private final ApplicationEventPublisher eventPublisher;
 
     public RegistrationResponseDto register(RegistrationRequestDto registrationRequestDto) {
         if (userRepository.existsByEmail(registrationRequestDto.getEmail())) {
@@ -36,6 +41,7 @@ public class AuthenticationService {
         newUser.setEmail(registrationRequestDto.getEmail());
         newUser.setPassword(passwordEncoder.encode(registrationRequestDto.getPassword()));
         userRepository.save(newUser);
+        eventPublisher.publishEvent(new UserRegisteredEvent(newUser.getId(), newUser.getEmail()));
         return new RegistrationResponseDto(newUser);
     }
 
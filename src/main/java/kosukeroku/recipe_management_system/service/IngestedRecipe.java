@@ -0,0 +1,9 @@
+package kosukeroku.recipe_management_system.service;
+
+import kosukeroku.recipe_management_system.dto.RecipeRequestDto;
+
+import java.time.LocalDateTime;
+
+public record IngestedRecipe(long id, long authorId, LocalDateTime date, String idempotencyKey,
+                             RecipeRequestDto recipe) {
+}
@@ -0,0 +1,39 @@
+package kosukeroku.recipe_management_system.service;
+
+import kosukeroku.recipe_management_system.exception.InvalidCursorException;
+import kosukeroku.recipe_management_system.model.Recipe;
+import kosukeroku.recipe_management_system.repository.RecipeRow;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+public record RecipeCursor(LocalDateTime date, long id) {
+
+    private static final String SEPARATOR = "|";
+
+    public static RecipeCursor of(Recipe recipe) {
+        return new RecipeCursor(recipe.getDate(), recipe.getId());
+    }
+
+    public static RecipeCursor of(RecipeRow row) {
+        return new RecipeCursor(row.date(), row.id());
+    }
+
+    public static RecipeCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            return new RecipeCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new InvalidCursorException(token);
+        }
+    }
+
+    public String encode() {
+        String raw = date + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,65 @@
+package kosukeroku.recipe_management_system.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import kosukeroku.recipe_management_system.mapper.RecipeMapper;
+import kosukeroku.recipe_management_system.model.Recipe;
+import kosukeroku.recipe_management_system.repository.RecipeRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+public class RecipeExportService {
+
+    private static final int CHUNK_SIZE = 500;
+
+    private final RecipeRepository recipeRepository;
+    private final RecipeMapper recipeMapper;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public long exportTo(OutputStream out) throws IOException {
+        long exported = 0;
+
+        try (Stream<Recipe> recipes = recipeRepository.streamAll();
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+            List<Recipe> chunk = new ArrayList<>(CHUNK_SIZE);
+            Iterator<Recipe> iterator = recipes.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+
+                if (chunk.size() == CHUNK_SIZE || !iterator.hasNext()) {
+                    exported += writeChunk(generator, chunk);
+                    chunk.clear();
+                }
+            }
+        }
+
+        return exported;
+    }
+
+    private int writeChunk(JsonGenerator generator, List<Recipe> chunk) throws IOException {
+        recipeRepository.fetchCollections(chunk);
+        for (Recipe recipe : chunk) {
+            generator.writeObject(recipeMapper.toDto(recipe));
+            generator.writeRaw('\n');
+        }
+        generator.flush();
+        entityManager.clear();
+        return chunk.size();
+    }
+}
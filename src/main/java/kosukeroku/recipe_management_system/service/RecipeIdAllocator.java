@@ -0,0 +1,34 @@
+package kosukeroku.recipe_management_system.service;
+
+import kosukeroku.recipe_management_system.model.Recipe;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Component
+@RequiredArgsConstructor
+public class RecipeIdAllocator {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Lock lock = new ReentrantLock();
+
+    private long next = 1;
+    private long last;
+
+    public long nextId() {
+        lock.lock();
+        try {
+            if (next > last) {
+                long value = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR recipes_seq", Long.class);
+                last = value;
+                next = Math.max(1, value - Recipe.ID_ALLOCATION_SIZE + 1);
+            }
+            return next++;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
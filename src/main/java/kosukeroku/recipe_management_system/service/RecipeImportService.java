@@ -0,0 +1,175 @@
+package kosukeroku.recipe_management_system.service;
+
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import kosukeroku.recipe_management_system.dto.RecipeImportItemDto;
+import kosukeroku.recipe_management_system.dto.RecipeImportResultDto;
+import kosukeroku.recipe_management_system.dto.RecipeRequestDto;
+import kosukeroku.recipe_management_system.event.RecipeChangedEvent;
+import kosukeroku.recipe_management_system.exception.UserNotFoundException;
+import kosukeroku.recipe_management_system.mapper.RecipeMapper;
+import kosukeroku.recipe_management_system.model.Recipe;
+import kosukeroku.recipe_management_system.model.User;
+import kosukeroku.recipe_management_system.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+public class RecipeImportService {
+
+    public static final int CHUNK_SIZE = 500;
+
+    private final UserRepository userRepository;
+    private final RecipeMapper recipeMapper;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private record PendingRecipe(int index, RecipeRequestDto request) {
+    }
+
+    public RecipeImportResultDto importRecipes(InputStream body, MediaType contentType, String userEmail)
+            throws IOException {
+
+        long authorId = userRepository.findByEmail(userEmail)
+                .orElseThrow(() -> new UserNotFoundException(userEmail))
+                .getId();
+
+        List<RecipeImportItemDto> items = new ArrayList<>();
+        List<PendingRecipe> chunk = new ArrayList<>(CHUNK_SIZE);
+        ObjectReader reader = objectMapper.readerFor(RecipeRequestDto.class);
+        Integer stoppedAt = null;
+        int index = 0;
+
+        if (MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType)) {
+            BufferedReader lines = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+            int lineNumber = 0;
+            String line;
+            while ((line = lines.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    stage(index, reader.readValue(line), chunk, items, authorId);
+                } catch (JsonProcessingException e) {
+                    items.add(RecipeImportItemDto.failed(index,
+                            malformed("on line " + lineNumber, e.getOriginalMessage())));
+                }
+                index++;
+            }
+        } else {
+            try (MappingIterator<RecipeRequestDto> requests = reader.readValues(body)) {
+                while (requests.hasNextValue()) {
+                    stage(index, requests.nextValue(), chunk, items, authorId);
+                    index++;
+                }
+            } catch (JsonProcessingException e) {
+                JsonLocation location = e.getLocation();
+                String where = location == null ? "in the request body"
+                        : "at line " + location.getLineNr() + ", column " + location.getColumnNr();
+                items.add(RecipeImportItemDto.failed(index, malformed(where, e.getOriginalMessage())));
+                stoppedAt = index;
+            }
+        }
+
+        items.addAll(persistChunk(chunk, authorId));
+        items.sort(Comparator.comparingInt(RecipeImportItemDto::getIndex));
+
+        int imported = (int) items.stream().filter(item -> item.getId() != null).count();
+        return new RecipeImportResultDto(imported, items.size() - imported, stoppedAt, items);
+    }
+
+    private void stage(int index, RecipeRequestDto request, List<PendingRecipe> chunk,
+                       List<RecipeImportItemDto> items, long authorId) {
+        Map<String, String> errors = validate(request);
+        if (!errors.isEmpty()) {
+            items.add(RecipeImportItemDto.failed(index, errors));
+            return;
+        }
+
+        chunk.add(new PendingRecipe(index, request));
+        if (chunk.size() == CHUNK_SIZE) {
+            items.addAll(persistChunk(chunk, authorId));
+            chunk.clear();
+        }
+    }
+
+    private List<RecipeImportItemDto> persistChunk(List<PendingRecipe> chunk, long authorId) {
+        if (chunk.isEmpty()) {
+            return List.of();
+        }
+
+        try {
+            List<Recipe> recipes = transactionTemplate.execute(status -> {
+                User author = entityManager.getReference(User.class, authorId);
+                List<Recipe> persisted = new ArrayList<>(chunk.size());
+                for (PendingRecipe pending : chunk) {
+                    Recipe recipe = recipeMapper.toEntity(pending.request());
+                    recipe.setAuthor(author);
+                    entityManager.persist(recipe);
+                    persisted.add(recipe);
+                    eventPublisher.publishEvent(RecipeChangedEvent.saved(recipe));
+                }
+                entityManager.flush();
+                entityManager.clear();
+                return persisted;
+            });
+
+            List<RecipeImportItemDto> items = new ArrayList<>(chunk.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                items.add(RecipeImportItemDto.imported(chunk.get(i).index(), recipes.get(i).getId()));
+            }
+            return items;
+        } catch (DataAccessException | PersistenceException | TransactionException e) {
+            if (chunk.size() == 1) {
+                return List.of(RecipeImportItemDto.failed(chunk.get(0).index(),
+                        Map.of("error", "Could not store recipe: " + e.getMessage())));
+            }
+
+            List<RecipeImportItemDto> items = new ArrayList<>(chunk.size());
+            for (PendingRecipe pending : chunk) {
+                items.addAll(persistChunk(List.of(pending), authorId));
+            }
+            return items;
+        }
+    }
+
+    private static Map<String, String> malformed(String where, String message) {
+        return Map.of("error", "Malformed recipe " + where + ": " + message);
+    }
+
+    private Map<String, String> validate(RecipeRequestDto request) {
+        Map<String, String> errors = new HashMap<>();
+        for (ConstraintViolation<RecipeRequestDto> violation : validator.validate(request)) {
+            errors.put(violation.getPropertyPath().toString(), violation.getMessage());
+        }
+        return errors;
+    }
+}
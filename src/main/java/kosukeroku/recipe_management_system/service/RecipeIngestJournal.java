@@ -0,0 +1,155 @@
+package kosukeroku.recipe_management_system.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Slf4j
+public class RecipeIngestJournal implements Closeable {
+
+    private static final byte NEWLINE = '\n';
+
+    private final Path file;
+    private final ObjectMapper objectMapper;
+    private volatile FileChannel channel;
+    private final Lock writeLock = new ReentrantLock();
+    private final Lock syncLock = new ReentrantLock();
+    private volatile long appended;
+    private volatile long entries;
+    private long synced;
+
+    public RecipeIngestJournal(Path file, ObjectMapper objectMapper) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        if (directory != null) {
+            Files.createDirectories(directory);
+        }
+        this.file = file;
+        this.objectMapper = objectMapper;
+        this.channel = open(file);
+    }
+
+    public List<IngestedRecipe> readAll() throws IOException {
+        List<IngestedRecipe> entries = new ArrayList<>();
+        try (InputStream in = Files.newInputStream(file);
+             MappingIterator<IngestedRecipe> lines = objectMapper.readerFor(IngestedRecipe.class).readValues(in)) {
+            while (lines.hasNextValue()) {
+                entries.add(lines.nextValue());
+            }
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring torn entry at the end of {} after {} recovered recipes", file, entries.size());
+        }
+        this.entries = entries.size();
+        return entries;
+    }
+
+    public void append(IngestedRecipe entry) throws IOException {
+        ByteBuffer line = line(entry);
+
+        long sequence;
+        writeLock.lock();
+        try {
+            while (line.hasRemaining()) {
+                channel.write(line);
+            }
+            sequence = ++appended;
+            entries++;
+        } finally {
+            writeLock.unlock();
+        }
+        awaitDurable(sequence);
+    }
+
+    public void truncate() throws IOException {
+        writeLock.lock();
+        try {
+            channel.truncate(0);
+            channel.position(0);
+            channel.force(false);
+            entries = 0;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void rewrite(List<IngestedRecipe> live) throws IOException {
+        Path compacted = file.resolveSibling(file.getFileName() + ".compact");
+        try (FileChannel out = FileChannel.open(compacted, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (IngestedRecipe entry : live) {
+                ByteBuffer line = line(entry);
+                while (line.hasRemaining()) {
+                    out.write(line);
+                }
+            }
+            out.force(false);
+        }
+
+        writeLock.lock();
+        syncLock.lock();
+        try {
+            Files.move(compacted, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            channel.close();
+            channel = open(file);
+            entries = live.size();
+            synced = appended;
+        } finally {
+            syncLock.unlock();
+            writeLock.unlock();
+        }
+    }
+
+    public long entryCount() {
+        return entries;
+    }
+
+    @Override
+    public void close() throws IOException {
+        writeLock.lock();
+        try {
+            channel.close();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private ByteBuffer line(IngestedRecipe entry) throws JsonProcessingException {
+        byte[] json = objectMapper.writeValueAsBytes(entry);
+        return ByteBuffer.allocate(json.length + 1).put(json).put(NEWLINE).flip();
+    }
+
+    private static FileChannel open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        channel.position(channel.size());
+        return channel;
+    }
+
+    private void awaitDurable(long sequence) throws IOException {
+        syncLock.lock();
+        try {
+            if (synced >= sequence) {
+                return;
+            }
+            long covered = appended;
+            channel.force(false);
+            synced = covered;
+        } finally {
+            syncLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,464 @@
+package kosukeroku.recipe_management_system.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import kosukeroku.recipe_management_system.dto.RecipeRequestDto;
+import kosukeroku.recipe_management_system.event.RecipeChangedEvent;
+import kosukeroku.recipe_management_system.exception.IdempotencyKeyReusedException;
+import kosukeroku.recipe_management_system.model.Recipe;
+import kosukeroku.recipe_management_system.model.RecipeIdempotencyKey;
+import kosukeroku.recipe_management_system.model.RecipeIngestFailure;
+import kosukeroku.recipe_management_system.model.User;
+import kosukeroku.recipe_management_system.repository.RecipeIdempotencyKeyRepository;
+import kosukeroku.recipe_management_system.repository.RecipeIngestFailureRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+@Slf4j
+@Service
+public class RecipeIngestService {
+
+    private static final int MAX_IDEMPOTENCY_KEYS = 100_000;
+    private static final String INSERT_RECIPE = "INSERT INTO recipes "
+            + "(id, version, name, category, category_key, date, description, user_id) VALUES (?, 0, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_INGREDIENT =
+            "INSERT INTO recipe_ingredients (recipe_id, ingredients, ingredients_order) VALUES (?, ?, ?)";
+    private static final String INSERT_DIRECTION =
+            "INSERT INTO recipe_directions (recipe_id, directions, directions_order) VALUES (?, ?, ?)";
+    private static final String INSERT_KEY = "INSERT INTO recipe_idempotency_keys "
+            + "(author_id, idempotency_key, recipe_id, request_hash, created_at) VALUES (?, ?, ?, ?, ?)";
+
+    private static final ObjectMapper CANONICAL_JSON = JsonMapper.builder()
+            .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+            .build();
+
+    private record AcceptedRecipe(long id, String requestHash) {
+    }
+
+    private record Line(long recipeId, String value, int order) {
+    }
+
+    private final RecipeIdAllocator idAllocator;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final RecipeIdempotencyKeyRepository idempotencyKeyRepository;
+    private final RecipeIngestFailureRepository ingestFailureRepository;
+    private final boolean enabled;
+    private final Path journalFile;
+    private final int batchSize;
+    private final Duration idempotencyKeyTtl;
+    private final int journalCompactEntries;
+    private final AsyncCache<String, AcceptedRecipe> acceptedKeys;
+    private final Map<String, AcceptedRecipe> unwrittenKeys = new ConcurrentHashMap<>();
+    private final Map<Long, IngestedRecipe> unwritten = new ConcurrentHashMap<>();
+    private final BlockingDeque<IngestedRecipe> pending = new LinkedBlockingDeque<>();
+    private final ReadWriteLock journalLock = new ReentrantReadWriteLock();
+    private final Lock flushLock = new ReentrantLock();
+    private final Counter failedRecipes;
+    private RecipeIngestJournal journal;
+
+    public RecipeIngestService(RecipeIdAllocator idAllocator, JdbcTemplate jdbcTemplate,
+                               TransactionTemplate transactionTemplate, ApplicationEventPublisher eventPublisher,
+                               ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                               RecipeIdempotencyKeyRepository idempotencyKeyRepository,
+                               RecipeIngestFailureRepository ingestFailureRepository,
+                               @Value("${recipes.ingest.async.enabled:false}") boolean enabled,
+                               @Value("${recipes.ingest.journal}") Path journalFile,
+                               @Value("${recipes.ingest.batch-size:500}") int batchSize,
+                               @Value("${recipes.ingest.idempotency-key-ttl:24h}") Duration idempotencyKeyTtl,
+                               @Value("${recipes.ingest.journal-compact-entries:10000}") int journalCompactEntries) {
+        this.idAllocator = idAllocator;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.ingestFailureRepository = ingestFailureRepository;
+        this.enabled = enabled;
+        this.journalFile = journalFile;
+        this.batchSize = batchSize;
+        this.idempotencyKeyTtl = idempotencyKeyTtl;
+        this.journalCompactEntries = journalCompactEntries;
+        this.acceptedKeys = Caffeine.newBuilder()
+                .expireAfterWrite(idempotencyKeyTtl)
+                .maximumSize(MAX_IDEMPOTENCY_KEYS)
+                .buildAsync();
+
+        Gauge.builder("recipe.ingest.pending", pending, BlockingDeque::size)
+                .description("Accepted recipes waiting to be written")
+                .register(meterRegistry);
+        this.failedRecipes = Counter.builder("recipe.ingest.failed")
+                .description("Accepted recipes moved to recipe_ingest_failures")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+        if (!enabled) {
+            return;
+        }
+
+        journal = new RecipeIngestJournal(journalFile, objectMapper);
+        List<IngestedRecipe> recovered = journal.readAll();
+        recovered.forEach(this::track);
+        if (!recovered.isEmpty()) {
+            log.info("Recovered {} unwritten recipes from {}", recovered.size(), journalFile);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    public boolean isPending(long id) {
+        return unwritten.containsKey(id);
+    }
+
+    public Optional<String> findFailure(long id) {
+        return ingestFailureRepository.findById(id).map(RecipeIngestFailure::getReason);
+    }
+
+    public long accept(RecipeRequestDto recipe, long authorId, String idempotencyKey) {
+        if (!enabled) {
+            throw new IllegalStateException("Asynchronous recipe ingest is disabled");
+        }
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return enqueue(recipe, authorId, null);
+        }
+
+        String key = scopedKey(authorId, idempotencyKey);
+        String requestHash = fingerprint(recipe);
+        CompletableFuture<AcceptedRecipe> claim = new CompletableFuture<>();
+        CompletableFuture<AcceptedRecipe> accepted = acceptedKeys.get(key, (k, executor) -> claim);
+        if (accepted == claim) {
+            resolve(claim, key, recipe, authorId, idempotencyKey, requestHash);
+        }
+
+        AcceptedRecipe result = await(accepted);
+        if (!result.requestHash().equals(requestHash)) {
+            throw new IdempotencyKeyReusedException(idempotencyKey);
+        }
+        return result.id();
+    }
+
+    public static String fingerprint(RecipeRequestDto recipe) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(CANONICAL_JSON.writeValueAsBytes(recipe));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not fingerprint recipe request", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${recipes.ingest.flush-interval-ms:200}")
+    public void flush() {
+        if (!enabled) {
+            return;
+        }
+
+        flushLock.lock();
+        try {
+            List<IngestedRecipe> batch = new ArrayList<>(batchSize);
+            while (pending.drainTo(batch, batchSize) > 0) {
+                if (!writeBatch(batch)) {
+                    return;
+                }
+                batch.clear();
+                compactJournal();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${recipes.ingest.idempotency-key-purge-interval-ms:3600000}")
+    public void purgeExpiredKeys() {
+        if (enabled) {
+            jdbcTemplate.update("DELETE FROM recipe_idempotency_keys WHERE created_at < ?",
+                    LocalDateTime.now().minus(idempotencyKeyTtl));
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        if (journal != null) {
+            flush();
+            journal.close();
+        }
+    }
+
+    private void resolve(CompletableFuture<AcceptedRecipe> claim, String key, RecipeRequestDto recipe, long authorId,
+                         String idempotencyKey, String requestHash) {
+        try {
+            AcceptedRecipe inFlight = unwrittenKeys.get(key);
+            claim.complete(inFlight != null ? inFlight : storedKey(authorId, idempotencyKey)
+                    .orElseGet(() -> new AcceptedRecipe(enqueue(recipe, authorId, idempotencyKey), requestHash)));
+        } catch (RuntimeException e) {
+            claim.completeExceptionally(e);
+        }
+    }
+
+    private static AcceptedRecipe await(CompletableFuture<AcceptedRecipe> accepted) {
+        try {
+            return accepted.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private long enqueue(RecipeRequestDto recipe, long authorId, String idempotencyKey) {
+        IngestedRecipe entry = new IngestedRecipe(idAllocator.nextId(), authorId, LocalDateTime.now(),
+                idempotencyKey, recipe);
+        journalLock.readLock().lock();
+        try {
+            journal.append(entry);
+            track(entry);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            journalLock.readLock().unlock();
+        }
+        return entry.id();
+    }
+
+    private void track(IngestedRecipe entry) {
+        unwritten.put(entry.id(), entry);
+        if (entry.idempotencyKey() != null) {
+            unwrittenKeys.put(scopedKey(entry.authorId(), entry.idempotencyKey()),
+                    new AcceptedRecipe(entry.id(), fingerprint(entry.recipe())));
+        }
+        pending.add(entry);
+    }
+
+    private void untrack(List<IngestedRecipe> entries) {
+        for (IngestedRecipe entry : entries) {
+            if (entry.idempotencyKey() != null) {
+                unwrittenKeys.remove(scopedKey(entry.authorId(), entry.idempotencyKey()));
+            }
+            unwritten.remove(entry.id());
+        }
+    }
+
+    private void compactJournal() {
+        journalLock.writeLock().lock();
+        try {
+            if (pending.isEmpty()) {
+                journal.truncate();
+            } else if (journal.entryCount() >= journalCompactEntries && unwritten.size() * 2 <= journal.entryCount()) {
+                journal.rewrite(unwritten.values().stream()
+                        .sorted(Comparator.comparingLong(IngestedRecipe::id))
+                        .toList());
+            }
+        } catch (IOException e) {
+            log.warn("Could not compact {}", journalFile, e);
+        } finally {
+            journalLock.writeLock().unlock();
+        }
+    }
+
+    private Optional<AcceptedRecipe> storedKey(long authorId, String idempotencyKey) {
+        return idempotencyKeyRepository.findById(new RecipeIdempotencyKey.Key(authorId, idempotencyKey))
+                .map(stored -> new AcceptedRecipe(stored.getRecipeId(), stored.getRequestHash()));
+    }
+
+    private boolean writeBatch(List<IngestedRecipe> batch) {
+        try {
+            write(batch);
+            untrack(batch);
+            return true;
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("Batch of {} recipes failed, retrying one by one", batch.size(), e);
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            IngestedRecipe entry = batch.get(i);
+            try {
+                try {
+                    write(List.of(entry));
+                } catch (DataIntegrityViolationException e) {
+                    deadLetter(entry, e);
+                }
+                untrack(List.of(entry));
+            } catch (DataAccessException | TransactionException e) {
+                List<IngestedRecipe> unwrittenEntries = batch.subList(i, batch.size());
+                for (int j = unwrittenEntries.size() - 1; j >= 0; j--) {
+                    pending.addFirst(unwrittenEntries.get(j));
+                }
+                log.warn("Deferring {} recipes until the database recovers", unwrittenEntries.size(), e);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void write(List<IngestedRecipe> batch) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Set<Long> stored = storedIds(batch);
+            List<IngestedRecipe> fresh = batch.stream()
+                    .filter(entry -> !stored.contains(entry.id()))
+                    .toList();
+            if (fresh.isEmpty()) {
+                return;
+            }
+
+            jdbcTemplate.batchUpdate(INSERT_RECIPE, fresh, fresh.size(), (ps, entry) -> {
+                RecipeRequestDto recipe = entry.recipe();
+                ps.setLong(1, entry.id());
+                ps.setString(2, recipe.getName());
+                ps.setString(3, recipe.getCategory());
+                ps.setString(4, Recipe.normalizeCategory(recipe.getCategory()));
+                ps.setObject(5, entry.date());
+                ps.setString(6, recipe.getDescription());
+                ps.setLong(7, entry.authorId());
+            });
+            insertLines(INSERT_INGREDIENT, lines(fresh, RecipeRequestDto::getIngredients));
+            insertLines(INSERT_DIRECTION, lines(fresh, RecipeRequestDto::getDirections));
+            insertKeys(fresh);
+
+            fresh.forEach(entry -> eventPublisher.publishEvent(RecipeChangedEvent.saved(toRecipe(entry))));
+        });
+    }
+
+    private void deadLetter(IngestedRecipe entry, DataIntegrityViolationException cause) {
+        String reason = cause.getMostSpecificCause().getMessage();
+        if (reason == null) {
+            reason = cause.getClass().getSimpleName();
+        }
+        RecipeIngestFailure failure = new RecipeIngestFailure(entry.id(), entry.authorId(),
+                reason.length() > RecipeIngestFailure.MAX_REASON_LENGTH
+                        ? reason.substring(0, RecipeIngestFailure.MAX_REASON_LENGTH) : reason,
+                toJson(entry), LocalDateTime.now());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            ingestFailureRepository.save(failure);
+            insertKeys(List.of(entry));
+        });
+        failedRecipes.increment();
+        log.error("Recipe {} can never be stored and was moved to recipe_ingest_failures", entry.id(), cause);
+    }
+
+    private void insertKeys(List<IngestedRecipe> entries) {
+        List<IngestedRecipe> keyed = entries.stream()
+                .filter(entry -> entry.idempotencyKey() != null)
+                .toList();
+        jdbcTemplate.batchUpdate(INSERT_KEY, keyed, Math.max(1, keyed.size()), (ps, entry) -> {
+            ps.setLong(1, entry.authorId());
+            ps.setString(2, entry.idempotencyKey());
+            ps.setLong(3, entry.id());
+            ps.setString(4, fingerprint(entry.recipe()));
+            ps.setObject(5, entry.date());
+        });
+    }
+
+    private String toJson(IngestedRecipe entry) {
+        try {
+            return objectMapper.writeValueAsString(entry);
+        } catch (JsonProcessingException e) {
+            return String.valueOf(entry);
+        }
+    }
+
+    private Set<Long> storedIds(List<IngestedRecipe> batch) {
+        String placeholders = String.join(", ", Collections.nCopies(batch.size(), "?"));
+        Object[] ids = batch.stream().map(IngestedRecipe::id).toArray();
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT id FROM recipes WHERE id IN (" + placeholders + ")", Long.class, ids));
+    }
+
+    private void insertLines(String sql, List<Line> lines) {
+        jdbcTemplate.batchUpdate(sql, lines, lines.size(), (ps, line) -> {
+            ps.setLong(1, line.recipeId());
+            ps.setString(2, line.value());
+            ps.setInt(3, line.order());
+        });
+    }
+
+    private static List<Line> lines(List<IngestedRecipe> entries, Function<RecipeRequestDto, List<String>> values) {
+        List<Line> lines = new ArrayList<>();
+        for (IngestedRecipe entry : entries) {
+            List<String> recipeLines = values.apply(entry.recipe());
+            for (int i = 0; i < recipeLines.size(); i++) {
+                lines.add(new Line(entry.id(), recipeLines.get(i), i));
+            }
+        }
+        return lines;
+    }
+
+    private static Recipe toRecipe(IngestedRecipe entry) {
+        RecipeRequestDto request = entry.recipe();
+        Recipe recipe = new Recipe();
+        recipe.setId(entry.id());
+        recipe.setAuthor(author(entry.authorId()));
+        recipe.setName(request.getName());
+        recipe.setCategory(request.getCategory());
+        recipe.setCategoryKey(Recipe.normalizeCategory(request.getCategory()));
+        recipe.setDate(entry.date());
+        recipe.setDescription(request.getDescription());
+        recipe.setIngredients(new ArrayList<>(request.getIngredients()));
+        recipe.setDirections(new ArrayList<>(request.getDirections()));
+        return recipe;
+    }
+
+    private static User author(long authorId) {
+        User author = new User();
+        author.setId(authorId);
+        return author;
+    }
+
+    private static String scopedKey(long authorId, String idempotencyKey) {
+        return authorId + ":" + idempotencyKey;
+    }
+}
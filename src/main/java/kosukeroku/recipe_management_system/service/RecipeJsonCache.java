@@ -0,0 +1,67 @@
+package kosukeroku.recipe_management_system.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kosukeroku.recipe_management_system.config.CacheConfig;
+import kosukeroku.recipe_management_system.dto.RecipeResponseDto;
+import kosukeroku.recipe_management_system.index.RecipeVersionIndex;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.zip.GZIPOutputStream;
+
+@Component
+public class RecipeJsonCache {
+
+    private final RecipeService recipeService;
+    private final RecipeVersionIndex recipeVersionIndex;
+    private final ObjectMapper objectMapper;
+    private final Cache cache;
+    private final int gzipMinBytes;
+
+    public RecipeJsonCache(RecipeService recipeService, RecipeVersionIndex recipeVersionIndex, ObjectMapper objectMapper,
+                           CacheManager cacheManager,
+                           @Value("${recipes.json-cache.gzip-min-bytes:1024}") int gzipMinBytes) {
+        this.recipeService = recipeService;
+        this.recipeVersionIndex = recipeVersionIndex;
+        this.objectMapper = objectMapper;
+        this.cache = cacheManager.getCache(CacheConfig.RECIPE_JSON_CACHE);
+        this.gzipMinBytes = gzipMinBytes;
+    }
+
+    public Optional<SerializedRecipe> get(long id) {
+        OptionalLong indexedVersion = recipeVersionIndex.version(id);
+        SerializedRecipe cached = cache.get(id, SerializedRecipe.class);
+        if (cached != null && indexedVersion.isPresent() && cached.version() >= indexedVersion.getAsLong()) {
+            return Optional.of(cached);
+        }
+
+        Optional<SerializedRecipe> loaded = recipeService.getRecipeById(id).map(this::serialize);
+        loaded.filter(recipe -> cached == null || recipe.version() > cached.version())
+                .ifPresent(recipe -> cache.put(id, recipe));
+        return loaded;
+    }
+
+    private SerializedRecipe serialize(RecipeResponseDto recipe) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(recipe);
+            return new SerializedRecipe(recipe.getVersion(), json, json.length >= gzipMinBytes ? gzip(json) : null);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 2);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(json);
+        }
+        return compressed.toByteArray();
+    }
+}
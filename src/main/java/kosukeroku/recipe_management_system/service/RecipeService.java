@@ -1,36 +1,99 @@
 package kosukeroku.recipe_management_system.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import kosukeroku.recipe_management_system.config.CacheConfig;
+import kosukeroku.recipe_management_system.datasource.ReplicaFreshnessTracker;
+import kosukeroku.recipe_management_system.dto.CategoryFacetDto;
+import kosukeroku.recipe_management_system.dto.CookableRecipeDto;
+import kosukeroku.recipe_management_system.dto.RecipePageDto;
 import kosukeroku.recipe_management_system.dto.RecipeRequestDto;
 import kosukeroku.recipe_management_system.dto.RecipeResponseDto;
+import kosukeroku.recipe_management_system.event.RecipeChangedEvent;
 import kosukeroku.recipe_management_system.exception.AccessDeniedException;
+import kosukeroku.recipe_management_system.exception.InvalidRecipePatchException;
 import kosukeroku.recipe_management_system.exception.RecipeNotFoundException;
+import kosukeroku.recipe_management_system.exception.RecipeVersionConflictException;
 import kosukeroku.recipe_management_system.exception.UserNotFoundException;
+import kosukeroku.recipe_management_system.index.CategoryFacetIndex;
+import kosukeroku.recipe_management_system.index.FullTextRecipeIndex;
+import kosukeroku.recipe_management_system.index.IngredientMatchIndex;
+import kosukeroku.recipe_management_system.index.RecipeVersionIndex;
 import kosukeroku.recipe_management_system.mapper.RecipeMapper;
 import kosukeroku.recipe_management_system.model.Recipe;
 import kosukeroku.recipe_management_system.model.User;
+import kosukeroku.recipe_management_system.repository.RecipeLineRow;
 import kosukeroku.recipe_management_system.repository.RecipeRepository;
+import kosukeroku.recipe_management_system.repository.RecipeRow;
 import kosukeroku.recipe_management_system.repository.UserRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional
+@Timed("recipe.service")
 
 public class RecipeService {
 
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final int FULL_TEXT_RESULT_LIMIT = 50;
+    public static final int COOKABLE_RESULT_LIMIT = 50;
+
     private final RecipeRepository recipeRepository;
     private final RecipeMapper recipeMapper;
     private final UserRepository userRepository;
+    private final FullTextRecipeIndex fullTextRecipeIndex;
+    private final IngredientMatchIndex ingredientMatchIndex;
+    private final RecipeVersionIndex recipeVersionIndex;
+    private final CategoryFacetIndex categoryFacetIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ObjectProvider<ReplicaFreshnessTracker> replicaFreshness;
+    private final Cache recipesCache;
 
-    public RecipeService(RecipeRepository recipeRepository, RecipeMapper recipeMapper, UserRepository userRepository) {
+    public RecipeService(RecipeRepository recipeRepository, RecipeMapper recipeMapper, UserRepository userRepository,
+                         FullTextRecipeIndex fullTextRecipeIndex, IngredientMatchIndex ingredientMatchIndex,
+                         RecipeVersionIndex recipeVersionIndex, CategoryFacetIndex categoryFacetIndex,
+                         ApplicationEventPublisher eventPublisher, ObjectMapper objectMapper, Validator validator,
+                         ObjectProvider<ReplicaFreshnessTracker> replicaFreshness, CacheManager cacheManager) {
         this.recipeRepository = recipeRepository;
         this.recipeMapper = recipeMapper;
         this.userRepository = userRepository;
+        this.fullTextRecipeIndex = fullTextRecipeIndex;
+        this.ingredientMatchIndex = ingredientMatchIndex;
+        this.recipeVersionIndex = recipeVersionIndex;
+        this.categoryFacetIndex = categoryFacetIndex;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.replicaFreshness = replicaFreshness;
+        this.recipesCache = cacheManager.getCache(CacheConfig.RECIPES_CACHE);
     }
 
     public long saveRecipe(RecipeRequestDto recipeDto, String userEmail) {
@@ -40,20 +103,76 @@ public class RecipeService {
         Recipe recipe = recipeMapper.toEntity(recipeDto);
         recipe.setAuthor(author);
         Recipe savedRecipe = recipeRepository.save(recipe);
+        eventPublisher.publishEvent(RecipeChangedEvent.saved(savedRecipe));
         return savedRecipe.getId();
     }
 
-    public List<RecipeResponseDto> getAllRecipes() {
-        return recipeRepository.findAll()
-                .stream()
-                .map(recipeMapper::toDto)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public RecipePageDto getAllRecipes(String cursor, int size) {
+        int pageSize = clampPageSize(size);
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+
+        List<RecipeRow> recipes;
+        if (cursor == null || cursor.isBlank()) {
+            recipes = recipeRepository.findFirstPageRows(limit);
+        } else {
+            RecipeCursor position = RecipeCursor.decode(cursor);
+            recipes = recipeRepository.findPageRowsAfter(position.date(), position.id(), limit);
+        }
+
+        return toPage(recipes, pageSize);
+    }
+
+    @Transactional(readOnly = true)
+    public RecipePageDto getRecipesByAuthor(long authorId, String cursor, int size) {
+        if (!userRepository.existsById(authorId)) {
+            throw new UserNotFoundException(authorId);
+        }
+
+        int pageSize = clampPageSize(size);
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+
+        List<RecipeRow> recipes;
+        if (cursor == null || cursor.isBlank()) {
+            recipes = recipeRepository.findFirstPageRowsByAuthor(authorId, limit);
+        } else {
+            RecipeCursor position = RecipeCursor.decode(cursor);
+            recipes = recipeRepository.findPageRowsByAuthorAfter(authorId, position.date(), position.id(), limit);
+        }
+
+        return toPage(recipes, pageSize);
     }
 
     public Optional<RecipeResponseDto> getRecipeById(long id) {
-        return recipeRepository.findById(id).map(recipeMapper::toDto);
+        OptionalLong indexedVersion = recipeVersionIndex.version(id);
+        RecipeResponseDto cached = recipesCache.get(id, RecipeResponseDto.class);
+        if (cached != null && (indexedVersion.isEmpty() || cached.getVersion() >= indexedVersion.getAsLong())) {
+            return Optional.of(cached);
+        }
+
+        Optional<RecipeResponseDto> loaded = recipeRepository.findRowById(id)
+                .map(row -> toDtos(List.of(row)).get(0));
+        loaded.filter(recipe -> cached == null || recipe.getVersion() > cached.getVersion())
+                .ifPresent(recipe -> recipesCache.put(id, recipe));
+        return loaded;
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Optional<String> getCatalogVersion() {
+        return listValidator(recipeVersionIndex.catalogVersion());
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Optional<String> getAuthorVersion(long authorId) {
+        return listValidator(recipeVersionIndex.authorVersion(authorId));
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<CategoryFacetDto> getCategoryFacets() {
+        return categoryFacetIndex.facets();
     }
 
+    @CacheEvict(cacheNames = {CacheConfig.RECIPES_CACHE, CacheConfig.RECIPE_JSON_CACHE}, key = "#id")
     public void deleteRecipeById(long id, String userEmail) {
 
 
@@ -64,9 +183,11 @@ public class RecipeService {
             throw new AccessDeniedException("You can only delete your own recipes");
         }
         recipeRepository.deleteById(id);
+        eventPublisher.publishEvent(RecipeChangedEvent.deleted(id, recipe.getVersion()));
     }
 
-    public void updateRecipeById(long id, RecipeRequestDto recipeDto, String userEmail) {
+    @CacheEvict(cacheNames = {CacheConfig.RECIPES_CACHE, CacheConfig.RECIPE_JSON_CACHE}, key = "#id")
+    public long updateRecipeById(long id, RecipeRequestDto recipeDto, String userEmail, Long expectedVersion) {
 
         Recipe existingRecipe = recipeRepository.findById(id)
                 .orElseThrow(() -> new RecipeNotFoundException(id));
@@ -75,31 +196,219 @@ public class RecipeService {
             throw new AccessDeniedException("You can only update your own recipes");
         }
 
+        if (expectedVersion != null && expectedVersion != existingRecipe.getVersion()) {
+            throw new RecipeVersionConflictException(id);
+        }
+
         existingRecipe.setName(recipeDto.getName());
         existingRecipe.setCategory(recipeDto.getCategory());
         existingRecipe.setDescription(recipeDto.getDescription());
-        existingRecipe.setIngredients(recipeDto.getIngredients());
-        existingRecipe.setDirections(recipeDto.getDirections());
+        existingRecipe.setIngredients(replaceContents(existingRecipe.getIngredients(), recipeDto.getIngredients()));
+        existingRecipe.setDirections(replaceContents(existingRecipe.getDirections(), recipeDto.getDirections()));
         existingRecipe.setDate(LocalDateTime.now());
 
 
-        recipeRepository.save(existingRecipe);
+        recipeRepository.saveAndFlush(existingRecipe);
+        eventPublisher.publishEvent(RecipeChangedEvent.saved(existingRecipe));
+        return existingRecipe.getVersion();
+    }
+
+    @CacheEvict(cacheNames = {CacheConfig.RECIPES_CACHE, CacheConfig.RECIPE_JSON_CACHE}, key = "#id")
+    public long patchRecipeById(long id, JsonNode patch, String userEmail, Long expectedVersion) {
+
+        if (patch == null || !patch.isObject()) {
+            throw new InvalidRecipePatchException(Map.of("error", "Patch document must be a JSON object"));
+        }
+
+        Recipe existingRecipe = recipeRepository.findById(id)
+                .orElseThrow(() -> new RecipeNotFoundException(id));
+
+        if (!existingRecipe.getAuthor().getEmail().equals(userEmail)) {
+            throw new AccessDeniedException("You can only update your own recipes");
+        }
+
+        if (expectedVersion != null && expectedVersion != existingRecipe.getVersion()) {
+            throw new RecipeVersionConflictException(id);
+        }
+
+        RecipeRequestDto patched = applyMergePatch(existingRecipe, patch);
+        boolean changed = false;
+
+        if (!Objects.equals(existingRecipe.getName(), patched.getName())) {
+            existingRecipe.setName(patched.getName());
+            changed = true;
+        }
+        if (!Objects.equals(existingRecipe.getCategory(), patched.getCategory())) {
+            existingRecipe.setCategory(patched.getCategory());
+            changed = true;
+        }
+        if (!Objects.equals(existingRecipe.getDescription(), patched.getDescription())) {
+            existingRecipe.setDescription(patched.getDescription());
+            changed = true;
+        }
+        if (!Objects.equals(existingRecipe.getIngredients(), patched.getIngredients())) {
+            existingRecipe.setIngredients(replaceContents(existingRecipe.getIngredients(), patched.getIngredients()));
+            changed = true;
+        }
+        if (!Objects.equals(existingRecipe.getDirections(), patched.getDirections())) {
+            existingRecipe.setDirections(replaceContents(existingRecipe.getDirections(), patched.getDirections()));
+            changed = true;
+        }
+
+        if (!changed) {
+            return existingRecipe.getVersion();
+        }
+
+        existingRecipe.setDate(LocalDateTime.now());
+        recipeRepository.saveAndFlush(existingRecipe);
+        eventPublisher.publishEvent(RecipeChangedEvent.saved(existingRecipe));
+        return existingRecipe.getVersion();
     }
 
+    @Transactional(readOnly = true)
     public List<RecipeResponseDto> searchByCategory(String category) {
 
-        return recipeRepository.findByCategoryIgnoreCaseOrderByDateDesc(category)
-                .stream()
-                .map(recipeMapper::toDto)
-                .collect(Collectors.toList());
+        return toDtos(recipeRepository.findRowsByCategoryKey(Recipe.normalizeCategory(category)));
     }
 
+    @Transactional(readOnly = true)
     public List<RecipeResponseDto> searchByName(String name) {
 
-        return recipeRepository.findByNameContainingIgnoreCaseOrderByDateDesc(name)
+        return toDtos(recipeRepository.findRowsByNameLike(containsPattern(name)));
+    }
+
+    @Transactional(readOnly = true)
+    public List<RecipeResponseDto> searchFullText(String query) {
+
+        List<Long> rankedIds = fullTextRecipeIndex.search(query, FULL_TEXT_RESULT_LIMIT);
+        return toDtos(findRanked(rankedIds));
+    }
+
+    @Transactional(readOnly = true)
+    public List<CookableRecipeDto> findCookable(List<String> availableIngredients) {
+
+        List<IngredientMatchIndex.Match> matches = ingredientMatchIndex.match(availableIngredients, COOKABLE_RESULT_LIMIT);
+        List<RecipeRow> recipes = findRanked(matches.stream().map(IngredientMatchIndex.Match::recipeId).toList());
+        List<RecipeResponseDto> dtos = toDtos(recipes);
+
+        Map<Long, RecipeResponseDto> dtosById = new HashMap<>();
+        for (int i = 0; i < recipes.size(); i++) {
+            dtosById.put(recipes.get(i).id(), dtos.get(i));
+        }
+
+        List<CookableRecipeDto> cookable = new ArrayList<>();
+        for (IngredientMatchIndex.Match match : matches) {
+            RecipeResponseDto recipe = dtosById.get(match.recipeId());
+            if (recipe != null) {
+                cookable.add(new CookableRecipeDto(recipe, match.coverage(), match.missingIngredients()));
+            }
+        }
+        return cookable;
+    }
+
+    private RecipeRequestDto applyMergePatch(Recipe recipe, JsonNode patch) {
+        RecipeRequestDto current = new RecipeRequestDto(recipe.getName(), recipe.getCategory(), recipe.getDescription(),
+                new ArrayList<>(recipe.getIngredients()), new ArrayList<>(recipe.getDirections()));
+
+        RecipeRequestDto patched;
+        try {
+            patched = objectMapper.readerForUpdating(current).readValue(patch);
+        } catch (IOException e) {
+            throw new InvalidRecipePatchException(Map.of("error", "Malformed patch document"));
+        }
+
+        Map<String, String> errors = new HashMap<>();
+        for (ConstraintViolation<RecipeRequestDto> violation : validator.validate(patched)) {
+            errors.put(violation.getPropertyPath().toString(), violation.getMessage());
+        }
+        if (!errors.isEmpty()) {
+            throw new InvalidRecipePatchException(errors);
+        }
+        return patched;
+    }
+
+    private static List<String> replaceContents(List<String> current, List<String> updated) {
+        if (current == null) {
+            return new ArrayList<>(updated);
+        }
+
+        int common = Math.min(current.size(), updated.size());
+        for (int i = 0; i < common; i++) {
+            if (!Objects.equals(current.get(i), updated.get(i))) {
+                current.set(i, updated.get(i));
+            }
+        }
+        while (current.size() > updated.size()) {
+            current.remove(current.size() - 1);
+        }
+        for (int i = common; i < updated.size(); i++) {
+            current.add(updated.get(i));
+        }
+        return current;
+    }
+
+    private List<RecipeRow> findRanked(List<Long> rankedIds) {
+        if (rankedIds.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, RecipeRow> recipesById = recipeRepository.findRowsByIdIn(rankedIds)
                 .stream()
-                .map(recipeMapper::toDto)
+                .collect(Collectors.toMap(RecipeRow::id, Function.identity()));
+        return rankedIds.stream()
+                .map(recipesById::get)
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
     }
 
+    private List<RecipeResponseDto> toDtos(List<RecipeRow> recipes) {
+        if (recipes.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<Long> ids = recipes.stream().map(RecipeRow::id).toList();
+        Map<Long, List<String>> ingredients = groupLines(recipeRepository.findIngredientLines(ids));
+        Map<Long, List<String>> directions = groupLines(recipeRepository.findDirectionLines(ids));
+        return recipes.stream()
+                .map(row -> recipeMapper.toDto(row,
+                        ingredients.getOrDefault(row.id(), List.of()),
+                        directions.getOrDefault(row.id(), List.of())))
+                .collect(Collectors.toList());
+    }
+
+    private static Map<Long, List<String>> groupLines(List<RecipeLineRow> lines) {
+        Map<Long, List<String>> grouped = new HashMap<>();
+        for (RecipeLineRow line : lines) {
+            grouped.computeIfAbsent(line.recipeId(), id -> new ArrayList<>()).add(line.value());
+        }
+        return grouped;
+    }
+
+    private static String containsPattern(String value) {
+        String escaped = value.toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+
+    private Optional<String> listValidator(String version) {
+        ReplicaFreshnessTracker tracker = replicaFreshness.getIfAvailable();
+        if (tracker != null && tracker.currentReadsMayLagCatalog()) {
+            return Optional.empty();
+        }
+        return Optional.of(version);
+    }
+
+    private static int clampPageSize(int size) {
+        return Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+    }
+
+    private RecipePageDto toPage(List<RecipeRow> recipes, int pageSize) {
+        boolean hasNext = recipes.size() > pageSize;
+        List<RecipeRow> page = hasNext ? recipes.subList(0, pageSize) : recipes;
+        String nextCursor = hasNext ? RecipeCursor.of(page.get(page.size() - 1)).encode() : null;
+        return new RecipePageDto(toDtos(page), nextCursor);
+    }
+
 }
\ No newline at end of file
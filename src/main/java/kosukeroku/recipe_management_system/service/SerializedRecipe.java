@@ -0,0 +1,8 @@
+package kosukeroku.recipe_management_system.service;
+
+public record SerializedRecipe(long version, byte[] json, byte[] gzippedJson) {
+
+    public int weight() {
+        return json.length + (gzippedJson == null ? 0 : gzippedJson.length);
+    }
+}
@@ -0,0 +1,38 @@
+CREATE SEQUENCE recipes_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE users (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    email      VARCHAR(255) NOT NULL UNIQUE,
+    password   VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6)
+);
+
+CREATE TABLE recipes (
+    id           BIGINT       NOT NULL PRIMARY KEY,
+    version      BIGINT       DEFAULT 0 NOT NULL,
+    name         VARCHAR(255),
+    category     VARCHAR(255),
+    category_key VARCHAR(255),
+    date         TIMESTAMP(6),
+    description  VARCHAR(255),
+    user_id      BIGINT REFERENCES users (id)
+);
+
+CREATE INDEX idx_recipes_date_id ON recipes (date DESC, id DESC);
+CREATE INDEX idx_recipes_category_key_date ON recipes (category_key, date DESC);
+CREATE INDEX idx_recipes_user_date_id ON recipes (user_id, date DESC, id DESC);
+
+CREATE TABLE recipe_ingredients (
+    recipe_id         BIGINT  NOT NULL REFERENCES recipes (id),
+    ingredients       VARCHAR(255),
+    ingredients_order INTEGER NOT NULL,
+    PRIMARY KEY (recipe_id, ingredients_order)
+);
+
+CREATE TABLE recipe_directions (
+    recipe_id        BIGINT  NOT NULL REFERENCES recipes (id),
+    directions       VARCHAR(255),
+    directions_order INTEGER NOT NULL,
+    PRIMARY KEY (recipe_id, directions_order)
+);
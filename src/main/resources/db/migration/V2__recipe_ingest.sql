@@ -0,0 +1,18 @@
+CREATE TABLE recipe_idempotency_keys (
+    author_id       BIGINT       NOT NULL,
+    idempotency_key VARCHAR(255) NOT NULL,
+    recipe_id       BIGINT       NOT NULL,
+    request_hash    INTEGER      NOT NULL,
+    created_at      TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (author_id, idempotency_key)
+);
+
+CREATE INDEX idx_recipe_idempotency_keys_created ON recipe_idempotency_keys (created_at);
+
+CREATE TABLE recipe_ingest_failures (
+    recipe_id BIGINT        NOT NULL PRIMARY KEY,
+    author_id BIGINT        NOT NULL,
+    reason    VARCHAR(1000) NOT NULL,
+    payload   CLOB          NOT NULL,
+    failed_at TIMESTAMP(6)  NOT NULL
+);
@@ -0,0 +1 @@
+ALTER TABLE recipe_idempotency_keys ALTER COLUMN request_hash VARCHAR(64) NOT NULL;
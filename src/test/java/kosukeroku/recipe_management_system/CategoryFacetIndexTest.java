@@ -0,0 +1,76 @@
+package kosukeroku.recipe_management_system;
+
+import kosukeroku.recipe_management_system.dto.CategoryFacetDto;
+import kosukeroku.recipe_management_system.index.CategoryFacetIndex;
+import kosukeroku.recipe_management_system.model.Recipe;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CategoryFacetIndexTest {
+
+    private CategoryFacetIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new CategoryFacetIndex();
+        index.add(recipe(1L, "Dinner"));
+        index.add(recipe(2L, " dinner "));
+        index.add(recipe(3L, "Lunch"));
+    }
+
+    @Test
+    void facets_ShouldCountRecipesPerNormalizedCategory() {
+        assertThat(index.facets()).containsExactly(
+                new CategoryFacetDto("dinner", 2),
+                new CategoryFacetDto("lunch", 1));
+    }
+
+    @Test
+    void facets_ShouldFollowCategoryChangesAndDeletes() {
+        index.add(recipe(2L, "Dessert"));
+        index.remove(3L);
+        index.remove(42L);
+
+        assertThat(index.facets()).containsExactly(
+                new CategoryFacetDto("dessert", 1),
+                new CategoryFacetDto("dinner", 1));
+    }
+
+    @Test
+    void reconcile_ShouldRebuildFromTableUnlessRecipesChangedMeanwhile() {
+        Map<Long, String> actual = Map.of(1L, "dinner", 2L, "dinner", 3L, "lunch", 5L, "lunch");
+        long observed = index.modifications();
+        index.add(recipe(4L, "Soup"));
+
+        assertThat(index.reconcile(actual, observed)).isFalse();
+        assertThat(index.facets()).hasSize(3);
+
+        assertThat(index.reconcile(actual, index.modifications())).isTrue();
+        assertThat(index.facets()).containsExactly(
+                new CategoryFacetDto("dinner", 2),
+                new CategoryFacetDto("lunch", 2));
+    }
+
+    @Test
+    void reconcile_ShouldRepairPerRecipeCategoriesSoLaterChangesStayExact() {
+        index.reconcile(Map.of(1L, "dinner", 2L, "dinner", 3L, "lunch", 5L, "lunch"), index.modifications());
+
+        index.remove(5L);
+        index.add(recipe(1L, "Lunch"));
+
+        assertThat(index.facets()).containsExactly(
+                new CategoryFacetDto("lunch", 2),
+                new CategoryFacetDto("dinner", 1));
+    }
+
+    private Recipe recipe(long id, String category) {
+        Recipe recipe = new Recipe();
+        recipe.setId(id);
+        recipe.setCategory(category);
+        return recipe;
+    }
+}
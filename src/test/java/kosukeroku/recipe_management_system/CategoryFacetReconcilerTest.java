@@ -0,0 +1,75 @@
+package kosukeroku.recipe_management_system;
+
+import kosukeroku.recipe_management_system.dto.CategoryFacetDto;
+import kosukeroku.recipe_management_system.index.CategoryFacetIndex;
+import kosukeroku.recipe_management_system.index.CategoryFacetReconciler;
+import kosukeroku.recipe_management_system.model.Recipe;
+import kosukeroku.recipe_management_system.repository.RecipeCategoryCount;
+import kosukeroku.recipe_management_system.repository.RecipeCategoryRow;
+import kosukeroku.recipe_management_system.repository.RecipeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class CategoryFacetReconcilerTest {
+
+    private final RecipeRepository recipeRepository = mock(RecipeRepository.class);
+    private CategoryFacetIndex index;
+    private CategoryFacetReconciler reconciler;
+
+    @BeforeEach
+    void setUp() {
+        index = new CategoryFacetIndex();
+        index.add(recipe(1L, "Dinner"));
+        index.add(recipe(2L, "Lunch"));
+        reconciler = new CategoryFacetReconciler(index, recipeRepository);
+    }
+
+    @Test
+    void reconcile_WithMatchingCounts_ShouldNotLoadRecipeCategories() {
+        when(recipeRepository.countByCategoryKey()).thenReturn(List.of(
+                new RecipeCategoryCount("dinner", 1L), new RecipeCategoryCount("lunch", 1L)));
+
+        reconciler.reconcile();
+
+        verify(recipeRepository, never()).findCategoryKeys();
+    }
+
+    @Test
+    void reconcile_WithDriftedCounts_ShouldRebuildFromRecipeCategories() {
+        when(recipeRepository.countByCategoryKey()).thenReturn(List.of(new RecipeCategoryCount("dinner", 2L)));
+        when(recipeRepository.findCategoryKeys()).thenReturn(List.of(
+                new RecipeCategoryRow(1L, "dinner"), new RecipeCategoryRow(2L, "dinner")));
+
+        reconciler.reconcile();
+
+        assertThat(index.facets()).containsExactly(new CategoryFacetDto("dinner", 2));
+    }
+
+    @Test
+    void reconcile_WhileRecipesKeepChanging_ShouldGiveUpAfterBoundedAttempts() {
+        AtomicLong nextId = new AtomicLong(10);
+        when(recipeRepository.countByCategoryKey()).thenAnswer(invocation -> {
+            index.add(recipe(nextId.incrementAndGet(), "Soup"));
+            return List.of(new RecipeCategoryCount("dinner", 5L));
+        });
+
+        reconciler.reconcile();
+
+        verify(recipeRepository, times(CategoryFacetReconciler.MAX_ATTEMPTS)).countByCategoryKey();
+        verify(recipeRepository, never()).findCategoryKeys();
+        assertThat(index.facets()).contains(new CategoryFacetDto("soup", CategoryFacetReconciler.MAX_ATTEMPTS));
+    }
+
+    private Recipe recipe(long id, String category) {
+        Recipe recipe = new Recipe();
+        recipe.setId(id);
+        recipe.setCategory(category);
+        return recipe;
+    }
+}
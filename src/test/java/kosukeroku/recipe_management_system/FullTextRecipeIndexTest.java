@@ -0,0 +1,63 @@
+package kosukeroku.recipe_management_system;
+
+import kosukeroku.recipe_management_system.index.FullTextRecipeIndex;
+import kosukeroku.recipe_management_system.model.Recipe;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FullTextRecipeIndexTest {
+
+    private FullTextRecipeIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new FullTextRecipeIndex();
+        index.add(recipe(1L, "Pasta Carbonara", "Creamy Italian pasta with bacon", List.of("spaghetti", "eggs", "bacon")));
+        index.add(recipe(2L, "Tomato Soup", "Warm soup for cold days", List.of("tomatoes", "onion", "cream")));
+        index.add(recipe(3L, "Bacon Sandwich", "Quick breakfast", List.of("bread", "bacon")));
+    }
+
+    @Test
+    void search_ShouldMatchNameDescriptionAndIngredientsCaseInsensitively() {
+        assertThat(index.search("PASTA", 10)).containsExactly(1L);
+        assertThat(index.search("breakfast", 10)).containsExactly(3L);
+        assertThat(index.search("tomato", 10)).containsExactly(2L);
+    }
+
+    @Test
+    void search_ShouldRankNameMatchesAboveIngredientMatches() {
+        assertThat(index.search("bacon", 10)).containsExactly(3L, 1L);
+    }
+
+    @Test
+    void search_ShouldRequireAllTerms() {
+        assertThat(index.search("bacon spaghetti", 10)).containsExactly(1L);
+        assertThat(index.search("bacon tomato", 10)).isEmpty();
+    }
+
+    @Test
+    void updateAndRemove_ShouldKeepIndexInSync() {
+        index.add(recipe(1L, "Pasta Bolognese", "Meat sauce", List.of("spaghetti", "beef")));
+        index.remove(3L);
+
+        assertThat(index.search("carbonara", 10)).isEmpty();
+        assertThat(index.search("bolognese", 10)).containsExactly(1L);
+        assertThat(index.search("bacon", 10)).isEmpty();
+    }
+
+    private Recipe recipe(long id, String name, String description, List<String> ingredients) {
+        Recipe recipe = new Recipe();
+        recipe.setId(id);
+        recipe.setName(name);
+        recipe.setDescription(description);
+        recipe.setIngredients(ingredients);
+        recipe.setDirections(List.of("step1"));
+        recipe.setDate(LocalDateTime.now());
+        return recipe;
+    }
+}
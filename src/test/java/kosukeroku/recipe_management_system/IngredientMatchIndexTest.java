@@ -0,0 +1,85 @@
+package kosukeroku.recipe_management_system;
+
+import kosukeroku.recipe_management_system.index.IngredientMatchIndex;
+import kosukeroku.recipe_management_system.model.Recipe;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IngredientMatchIndexTest {
+
+    private IngredientMatchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new IngredientMatchIndex();
+        index.add(recipe(1L, List.of("200 g spaghetti", "2 Eggs", "bacon", "parmesan")));
+        index.add(recipe(2L, List.of("eggs", "1 cup milk")));
+        index.add(recipe(3L, List.of("tomatoes", "onion")));
+    }
+
+    @Test
+    void match_ShouldRankByCoverageAndReportMissingIngredients() {
+        List<IngredientMatchIndex.Match> matches = index.match(List.of("egg", "Milk", "Spaghetti"), 10);
+
+        assertThat(matches).extracting(IngredientMatchIndex.Match::recipeId).containsExactly(2L, 1L);
+        assertThat(matches.get(0).coverage()).isEqualTo(1.0);
+        assertThat(matches.get(0).missingIngredients()).isEmpty();
+        assertThat(matches.get(1).coverage()).isEqualTo(0.5);
+        assertThat(matches.get(1).missingIngredients()).containsExactly("bacon", "parmesan");
+    }
+
+    @Test
+    void match_ShouldIgnoreUnknownIngredients() {
+        assertThat(index.match(List.of("chocolate"), 10)).isEmpty();
+    }
+
+    @Test
+    void remove_ShouldDropRecipeFromMatches() {
+        index.remove(3L);
+
+        assertThat(index.match(List.of("tomato", "onions"), 10)).isEmpty();
+    }
+
+    @Test
+    void add_WithoutIngredients_ShouldDropPreviousPostings() {
+        index.add(recipe(3L, null));
+
+        assertThat(index.match(List.of("tomato", "onions"), 10)).isEmpty();
+    }
+
+    @Test
+    void match_ShouldKeepOnlyTheBestRankedRecipesWithinLimit() {
+        index.add(recipe(4L, List.of("eggs", "milk", "flour")));
+
+        List<IngredientMatchIndex.Match> matches = index.match(List.of("egg", "Milk", "Spaghetti"), 2);
+
+        assertThat(matches).extracting(IngredientMatchIndex.Match::recipeId).containsExactly(2L, 4L);
+    }
+
+    @Test
+    void clear_ShouldForgetIndexedIngredients() {
+        index.clear();
+        index.add(recipe(5L, List.of("rice", "beans")));
+
+        assertThat(index.match(List.of("eggs"), 10)).isEmpty();
+        assertThat(index.match(List.of("rice"), 10))
+                .singleElement()
+                .satisfies(match -> assertThat(match.missingIngredients()).containsExactly("bean"));
+    }
+
+    private Recipe recipe(long id, List<String> ingredients) {
+        Recipe recipe = new Recipe();
+        recipe.setId(id);
+        recipe.setName("Recipe " + id);
+        recipe.setDescription("Description");
+        recipe.setIngredients(ingredients);
+        recipe.setDirections(List.of("step1"));
+        recipe.setDate(LocalDateTime.now());
+        return recipe;
+    }
+}
@@ -0,0 +1,47 @@
+package kosukeroku.recipe_management_system;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import kosukeroku.recipe_management_system.metrics.JdbcQueryMetrics;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JdbcQueryMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final JdbcQueryMetrics jdbcQueryMetrics = new JdbcQueryMetrics(meterRegistry, Duration.ofMillis(100));
+
+    @Test
+    void finishRequest_ShouldRecordQueryCountAndTimePerRequest() {
+        jdbcQueryMetrics.startRequest();
+        execute(5);
+        execute(15);
+        jdbcQueryMetrics.finishRequest();
+
+        assertThat(meterRegistry.get("http.server.requests.jdbc.queries").summary().totalAmount()).isEqualTo(2);
+        assertThat(meterRegistry.get("http.server.requests.jdbc.time").timer().totalTime(TimeUnit.MILLISECONDS))
+                .isEqualTo(20);
+        assertThat(meterRegistry.get("jdbc.query").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void afterQuery_ShouldCountSlowQueriesOverThreshold() {
+        execute(50);
+        execute(250);
+
+        assertThat(meterRegistry.get("jdbc.query.slow").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("http.server.requests.jdbc.queries").summary().count()).isZero();
+    }
+
+    private void execute(long elapsedMillis) {
+        ExecutionInfo executionInfo = new ExecutionInfo();
+        executionInfo.setElapsedTime(elapsedMillis);
+        jdbcQueryMetrics.afterQuery(executionInfo, List.of(new QueryInfo("select 1")));
+    }
+}
@@ -0,0 +1,92 @@
+package kosukeroku.recipe_management_system;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import kosukeroku.recipe_management_system.model.User;
+import kosukeroku.recipe_management_system.security.JwtAuthenticationFilter;
+import kosukeroku.recipe_management_system.security.JwtTokenProvider;
+import kosukeroku.recipe_management_system.security.UserDetailsServiceImpl;
+import kosukeroku.recipe_management_system.security.UserPrincipal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class JwtAuthenticationFilterTest {
+
+    private static final String TOKEN = "token";
+    private static final String EMAIL = "alice@test.com";
+
+    private final JwtTokenProvider tokenProvider = mock(JwtTokenProvider.class);
+    private final UserDetailsServiceImpl userDetailsService = mock(UserDetailsServiceImpl.class);
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new JwtAuthenticationFilter(tokenProvider, userDetailsService, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(filter, "statelessPrincipal", true);
+        filter.init();
+        when(tokenProvider.extractUsername(TOKEN)).thenReturn(EMAIL);
+        when(tokenProvider.validateToken(eq(TOKEN), any())).thenReturn(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void statelessPrincipal_WithUidClaim_ShouldBuildPrincipalWithoutLoadingUser() throws Exception {
+        when(tokenProvider.extractUserId(TOKEN)).thenReturn(42L);
+        when(userDetailsService.isActiveUser(EMAIL)).thenReturn(true);
+
+        MockHttpServletResponse response = authenticate();
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getPrincipal())
+                .isInstanceOfSatisfying(UserPrincipal.class, principal -> {
+                    assertThat(principal.getId()).isEqualTo(42L);
+                    assertThat(principal.getUsername()).isEqualTo(EMAIL);
+                });
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
+    }
+
+    @Test
+    void statelessPrincipal_ForInactiveUser_ShouldRejectToken() throws Exception {
+        when(tokenProvider.extractUserId(TOKEN)).thenReturn(42L);
+        when(userDetailsService.isActiveUser(EMAIL)).thenReturn(false);
+
+        assertThat(authenticate().getStatus()).isEqualTo(401);
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    @Test
+    void statelessPrincipal_WithoutUidClaim_ShouldFallBackToLoadingUser() throws Exception {
+        User user = new User();
+        user.setId(7L);
+        user.setEmail(EMAIL);
+        when(userDetailsService.loadUserByUsername(EMAIL)).thenReturn(new UserPrincipal(user));
+
+        authenticate();
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getPrincipal())
+                .isInstanceOfSatisfying(UserPrincipal.class, principal -> assertThat(principal.getId()).isEqualTo(7L));
+        verify(userDetailsService, never()).isActiveUser(anyString());
+    }
+
+    private MockHttpServletResponse authenticate() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/recipe/mine");
+        request.addHeader("Authorization", "Bearer " + TOKEN);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
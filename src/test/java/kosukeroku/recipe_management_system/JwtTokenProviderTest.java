@@ -0,0 +1,86 @@
+package kosukeroku.recipe_management_system;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import kosukeroku.recipe_management_system.security.JwtTokenProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtTokenProviderTest {
+
+    private static final String SECRET = "testSecretKeyThatIsAtLeast32CharactersLongForHS256";
+    private static final long EXPIRATION_MS = Duration.ofHours(1).toMillis();
+
+    private JwtTokenProvider tokenProvider;
+    private Cache<String, Claims> verifiedClaims;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        tokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(tokenProvider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(tokenProvider, "jwtExpirationMs", EXPIRATION_MS);
+        ReflectionTestUtils.setField(tokenProvider, "claimsCacheMaxSize", 100L);
+        ReflectionTestUtils.invokeMethod(tokenProvider, "init");
+        verifiedClaims = (Cache<String, Claims>) ReflectionTestUtils.getField(tokenProvider, "verifiedClaims");
+    }
+
+    @Test
+    void extractUsername_ShouldCacheClaimsUnderTokenDigestUntilExpiry() throws Exception {
+        String token = tokenProvider.generateToken(user("alice@test.com"));
+
+        assertThat(tokenProvider.extractUsername(token)).isEqualTo("alice@test.com");
+
+        String key = Base64.getEncoder().encodeToString(
+                MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+        assertThat(verifiedClaims.asMap()).containsOnlyKeys(key);
+        assertThat(verifiedClaims.policy().expireVariably().orElseThrow().getExpiresAfter(key))
+                .hasValueSatisfying(ttl -> assertThat(ttl).isPositive()
+                        .isLessThanOrEqualTo(Duration.ofMillis(EXPIRATION_MS)));
+    }
+
+    @Test
+    void extractUsername_WithTamperedToken_ShouldNotBeServedFromCache() {
+        String alice = tokenProvider.generateToken(user("alice@test.com"));
+        String bob = tokenProvider.generateToken(user("bob@test.com"));
+        tokenProvider.extractUsername(alice);
+
+        String forged = bob.substring(0, bob.lastIndexOf('.')) + alice.substring(alice.lastIndexOf('.'));
+
+        assertThatThrownBy(() -> tokenProvider.extractUsername(forged)).isInstanceOf(SignatureException.class);
+        assertThat(verifiedClaims.estimatedSize()).isEqualTo(1);
+    }
+
+    @Test
+    void validateToken_WithoutExpiration_ShouldNotCacheOrAcceptIt() {
+        String token = Jwts.builder()
+                .setSubject("alice@test.com")
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes()), SignatureAlgorithm.HS256)
+                .compact();
+
+        assertThat(tokenProvider.extractUsername(token)).isEqualTo("alice@test.com");
+        assertThat(tokenProvider.validateToken(token, user("alice@test.com"))).isFalse();
+        verifiedClaims.cleanUp();
+        assertThat(verifiedClaims.asMap()).isEmpty();
+    }
+
+    private static UserDetails user(String email) {
+        return new User(email, "password", List.of());
+    }
+}
@@ -0,0 +1,81 @@
+package kosukeroku.recipe_management_system;
+
+import kosukeroku.recipe_management_system.config.LegacySchemaUpgrader;
+import kosukeroku.recipe_management_system.model.Recipe;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LegacySchemaUpgraderTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private LegacySchemaUpgrader upgrader;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource =
+                new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        upgrader = new LegacySchemaUpgrader(jdbcTemplate,
+                new TransactionTemplate(new DataSourceTransactionManager(dataSource)));
+
+        jdbcTemplate.execute("CREATE SEQUENCE recipes_seq START WITH 1 INCREMENT BY 50");
+        jdbcTemplate.execute("CREATE TABLE recipes (id BIGINT PRIMARY KEY, category VARCHAR(255),"
+                + " category_key VARCHAR(255))");
+        jdbcTemplate.execute("CREATE TABLE recipe_ingredients (recipe_id BIGINT NOT NULL,"
+                + " ingredients VARCHAR(255), ingredients_order INTEGER)");
+        jdbcTemplate.execute("CREATE TABLE recipe_directions (recipe_id BIGINT NOT NULL,"
+                + " directions VARCHAR(255), directions_order INTEGER)");
+        jdbcTemplate.execute("CREATE TABLE recipe_idempotency_keys (author_id BIGINT NOT NULL,"
+                + " idempotency_key VARCHAR(255) NOT NULL, recipe_id BIGINT NOT NULL,"
+                + " request_hash INTEGER NOT NULL, created_at TIMESTAMP(6) NOT NULL)");
+    }
+
+    @Test
+    void upgrade_ShouldMoveSequencePastExistingIds() {
+        jdbcTemplate.update("INSERT INTO recipes (id, category) VALUES (1, 'Dinner'), (30, 'Dinner')");
+
+        upgrader.upgrade();
+
+        Long next = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR recipes_seq", Long.class);
+        assertThat(next).isGreaterThan(30L + Recipe.ID_ALLOCATION_SIZE);
+    }
+
+    @Test
+    void upgrade_ShouldBackfillListOrderInInsertionOrder() {
+        jdbcTemplate.update("INSERT INTO recipes (id, category) VALUES (1, ' Dinner '), (2, 'Lunch')");
+        jdbcTemplate.update("INSERT INTO recipe_ingredients (recipe_id, ingredients) VALUES"
+                + " (1, 'flour'), (2, 'rice'), (1, 'eggs'), (1, 'milk')");
+        jdbcTemplate.update("INSERT INTO recipe_directions (recipe_id, directions) VALUES (1, 'mix'), (1, 'bake')");
+
+        upgrader.upgrade();
+
+        assertThat(jdbcTemplate.queryForList("SELECT ingredients FROM recipe_ingredients"
+                + " WHERE recipe_id = 1 ORDER BY ingredients_order", String.class))
+                .containsExactly("flour", "eggs", "milk");
+        assertThat(jdbcTemplate.queryForList("SELECT ingredients_order FROM recipe_ingredients"
+                + " WHERE recipe_id = 2", Integer.class))
+                .containsExactly(0);
+        assertThat(jdbcTemplate.queryForList("SELECT directions FROM recipe_directions"
+                + " WHERE recipe_id = 1 ORDER BY directions_order", String.class))
+                .containsExactly("mix", "bake");
+        assertThat(jdbcTemplate.queryForObject("SELECT category_key FROM recipes WHERE id = 1", String.class))
+                .isEqualTo("dinner");
+    }
+
+    @Test
+    void upgrade_ShouldWidenIntegerRequestHash() {
+        upgrader.upgrade();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT DATA_TYPE FROM INFORMATION_SCHEMA.COLUMNS"
+                + " WHERE TABLE_NAME = 'RECIPE_IDEMPOTENCY_KEYS' AND COLUMN_NAME = 'REQUEST_HASH'", String.class))
+                .isEqualTo("CHARACTER VARYING");
+    }
+}
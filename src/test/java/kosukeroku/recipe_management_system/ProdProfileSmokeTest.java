@@ -0,0 +1,25 @@
+package kosukeroku.recipe_management_system;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+@SpringBootTest(properties = "recipes.datasource.path=./build/prod-smoke/recipesdb")
+@ActiveProfiles("prod")
+class ProdProfileSmokeTest {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Test
+    void prodProfile_ShouldMigrateAndValidateSchema() {
+        assertThatCode(flyway::validate).doesNotThrowAnyException();
+        assertThat(flyway.info().pending()).isEmpty();
+        assertThat(flyway.info().current().getVersion().getVersion()).isEqualTo("3");
+    }
+}
@@ -0,0 +1,70 @@
+package kosukeroku.recipe_management_system;
+
+import kosukeroku.recipe_management_system.dto.RecipeResponseDto;
+import kosukeroku.recipe_management_system.model.Recipe;
+import kosukeroku.recipe_management_system.repository.RecipeRepository;
+import kosukeroku.recipe_management_system.service.RecipeService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class RecipeCategoryKeyTest {
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @AfterEach
+    void tearDown() {
+        recipeRepository.deleteAll();
+    }
+
+    @Test
+    void save_ShouldStoreTrimmedLowerCaseCategoryKey() {
+        Recipe recipe = recipeRepository.saveAndFlush(recipe("  Sunday ROAST "));
+
+        assertThat(recipeRepository.findById(recipe.getId()))
+                .hasValueSatisfying(stored -> assertThat(stored.getCategoryKey()).isEqualTo("sunday roast"));
+    }
+
+    @Test
+    void update_ShouldRenormalizeCategoryKey() {
+        Recipe recipe = recipeRepository.saveAndFlush(recipe("Dinner"));
+        recipe.setCategory(" Late LUNCH\t");
+        recipeRepository.saveAndFlush(recipe);
+
+        assertThat(recipeRepository.findById(recipe.getId()))
+                .hasValueSatisfying(stored -> assertThat(stored.getCategoryKey()).isEqualTo("late lunch"));
+        assertThat(recipeService.searchByCategory("dinner")).isEmpty();
+    }
+
+    @Test
+    void searchByCategory_ShouldMatchRegardlessOfCaseAndSurroundingWhitespace() {
+        recipeRepository.saveAndFlush(recipe("Dessert"));
+        recipeRepository.saveAndFlush(recipe(" dessert "));
+
+        assertThat(recipeService.searchByCategory("  DESSERT"))
+                .extracting(RecipeResponseDto::getCategory)
+                .containsExactlyInAnyOrder("Dessert", " dessert ");
+    }
+
+    private Recipe recipe(String category) {
+        Recipe recipe = new Recipe();
+        recipe.setName("Category key recipe");
+        recipe.setCategory(category);
+        recipe.setDescription("Description");
+        recipe.setIngredients(List.of("ing1"));
+        recipe.setDirections(List.of("step1"));
+        recipe.setDate(LocalDateTime.now());
+        return recipe;
+    }
+}
@@ -6,20 +6,28 @@ import kosukeroku.recipe_management_system.dto.RecipeRequestDto;
 import kosukeroku.recipe_management_system.dto.RecipeResponseDto;
 import kosukeroku.recipe_management_system.exception.RecipeNotFoundException;
 import kosukeroku.recipe_management_system.model.Recipe;
+import kosukeroku.recipe_management_system.service.RecipeExportService;
+import kosukeroku.recipe_management_system.service.RecipeImportService;
+import kosukeroku.recipe_management_system.service.RecipeIngestService;
+import kosukeroku.recipe_management_system.service.RecipeJsonCache;
 import kosukeroku.recipe_management_system.service.RecipeService;
+import kosukeroku.recipe_management_system.service.SerializedRecipe;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -35,6 +43,18 @@ public class RecipeControllerTest {
     @MockitoBean
     private RecipeService recipeService;
 
+    @MockitoBean
+    private RecipeExportService recipeExportService;
+
+    @MockitoBean
+    private RecipeImportService recipeImportService;
+
+    @MockitoBean
+    private RecipeJsonCache recipeJsonCache;
+
+    @MockitoBean
+    private RecipeIngestService recipeIngestService;
+
     private static final String VALID_JSON = """
             {
                 "name": "Pasta Carbonara",
@@ -111,7 +131,7 @@ public class RecipeControllerTest {
     @Test
     public void getRecipeWithValidId_ShouldReturnValidDto() throws Exception {
 
-        when(recipeService.getRecipeById(EXISTING_RECIPE_ID)).thenReturn(Optional.of(responseDto));
+        when(recipeJsonCache.get(EXISTING_RECIPE_ID)).thenReturn(Optional.of(serialized(0L)));
 
         mockMvc.perform(get("/api/recipe/{id}", EXISTING_RECIPE_ID))
                 .andExpect(status().isOk())
@@ -121,12 +141,57 @@ public class RecipeControllerTest {
     @Test
     public void getRecipeWithInvalidId_ShouldReturn404() throws Exception {
 
-        when(recipeService.getRecipeById(NON_EXISTING_RECIPE_ID)).thenReturn(Optional.empty());
+        when(recipeJsonCache.get(NON_EXISTING_RECIPE_ID)).thenReturn(Optional.empty());
 
         mockMvc.perform(get("/api/recipe/{id}", NON_EXISTING_RECIPE_ID))
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    public void getRecipeStillBeingIngested_ShouldReturn202() throws Exception {
+
+        when(recipeJsonCache.get(NON_EXISTING_RECIPE_ID)).thenReturn(Optional.empty());
+        when(recipeIngestService.isPending(NON_EXISTING_RECIPE_ID)).thenReturn(true);
+
+        mockMvc.perform(get("/api/recipe/{id}", NON_EXISTING_RECIPE_ID))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+    }
+
+    @Test
+    public void getRecipeThatFailedIngest_ShouldReturn422WithReason() throws Exception {
+
+        when(recipeJsonCache.get(NON_EXISTING_RECIPE_ID)).thenReturn(Optional.empty());
+        when(recipeIngestService.findFailure(NON_EXISTING_RECIPE_ID)).thenReturn(Optional.of("author missing"));
+
+        mockMvc.perform(get("/api/recipe/{id}", NON_EXISTING_RECIPE_ID))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.error").value(containsString("author missing")));
+    }
+
+    @Test
+    public void getRecipeWithMatchingETag_ShouldReturn304WithoutBody() throws Exception {
+
+        when(recipeJsonCache.get(EXISTING_RECIPE_ID)).thenReturn(Optional.of(serialized(3L)));
+
+        mockMvc.perform(get("/api/recipe/{id}", EXISTING_RECIPE_ID)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"" + EXISTING_RECIPE_ID + "-3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    public void getRecipeWithStaleETag_ShouldReturnBodyAndCurrentETag() throws Exception {
+
+        when(recipeJsonCache.get(EXISTING_RECIPE_ID)).thenReturn(Optional.of(serialized(4L)));
+
+        mockMvc.perform(get("/api/recipe/{id}", EXISTING_RECIPE_ID)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"" + EXISTING_RECIPE_ID + "-3\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + EXISTING_RECIPE_ID + "-4\""))
+                .andExpect(content().json(VALID_JSON));
+    }
+
     @Test
     public void deleteRecipeWithValidId_ShouldReturn204() throws Exception {
 
@@ -239,5 +304,34 @@ public class RecipeControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    public void searchRecipeAsCbor_ShouldNotMatchJsonETag() throws Exception {
+        when(recipeService.getCatalogVersion()).thenReturn(Optional.of("v1-7"));
+        when(recipeService.searchByCategory("dinner")).thenReturn(List.of(responseDto));
+
+        mockMvc.perform(get("/api/recipe/search")
+                        .param("category", "dinner")
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"v1-7-json\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"v1-7-cbor\""))
+                .andExpect(header().string(HttpHeaders.VARY, "Accept, Accept-Encoding"));
+    }
+
+    @Test
+    public void searchRecipeWithMatchingETag_ShouldReturn304WithVary() throws Exception {
+        when(recipeService.getCatalogVersion()).thenReturn(Optional.of("v1-7"));
 
+        mockMvc.perform(get("/api/recipe/search")
+                        .param("category", "dinner")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"v1-7-json\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.VARY, "Accept, Accept-Encoding"));
+
+        verify(recipeService, never()).searchByCategory(any());
+    }
+
+    private static SerializedRecipe serialized(long version) {
+        return new SerializedRecipe(version, VALID_JSON.getBytes(StandardCharsets.UTF_8), null);
+    }
 }
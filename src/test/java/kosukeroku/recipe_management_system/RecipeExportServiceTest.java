@@ -0,0 +1,105 @@
+package kosukeroku.recipe_management_system;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import kosukeroku.recipe_management_system.model.Recipe;
+import kosukeroku.recipe_management_system.model.User;
+import kosukeroku.recipe_management_system.repository.RecipeRepository;
+import kosukeroku.recipe_management_system.repository.UserRepository;
+import kosukeroku.recipe_management_system.service.RecipeExportService;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class RecipeExportServiceTest {
+
+    private static final int RECIPES = 1201;
+
+    @Autowired
+    private RecipeExportService exportService;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private User author;
+
+    @BeforeEach
+    void setUp() {
+        author = new User();
+        author.setEmail("exporter@test.com");
+        author.setPassword("password123");
+        author = userRepository.save(author);
+
+        List<Recipe> recipes = new ArrayList<>(RECIPES);
+        for (int i = 0; i < RECIPES; i++) {
+            Recipe recipe = new Recipe();
+            recipe.setName("Export " + i);
+            recipe.setCategory("export");
+            recipe.setDescription("Description " + i);
+            recipe.setIngredients(List.of("ingredient " + i, "salt"));
+            recipe.setDirections(List.of("step " + i, "serve"));
+            recipe.setDate(LocalDateTime.now());
+            recipe.setAuthor(author);
+            recipes.add(recipe);
+        }
+        recipeRepository.saveAll(recipes);
+    }
+
+    @AfterEach
+    void tearDown() {
+        recipeRepository.deleteAll();
+        userRepository.delete(author);
+    }
+
+    @Test
+    void exportTo_ShouldStreamEveryRecipeInOrderAcrossChunks() throws IOException {
+        List<Integer> managedEntitiesPerChunk = new ArrayList<>();
+        ByteArrayOutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public void flush() {
+                managedEntitiesPerChunk.add(entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+            }
+        };
+
+        long exported = exportService.exportTo(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(exported).isEqualTo(RECIPES);
+        assertThat(lines).hasSize(RECIPES);
+        for (int i = 0; i < RECIPES; i++) {
+            JsonNode recipe = objectMapper.readTree(lines[i]);
+            assertThat(recipe.get("name").asText()).isEqualTo("Export " + i);
+            assertThat(recipe.get("ingredients")).extracting(JsonNode::asText)
+                    .containsExactly("ingredient " + i, "salt");
+            assertThat(recipe.get("directions")).extracting(JsonNode::asText)
+                    .containsExactly("step " + i, "serve");
+            assertThat(recipe.get("authorEmail").asText()).isEqualTo("exporter@test.com");
+        }
+
+        assertThat(managedEntitiesPerChunk).hasSizeGreaterThanOrEqualTo(3)
+                .allSatisfy(count -> assertThat(count).isLessThanOrEqualTo(501));
+    }
+}
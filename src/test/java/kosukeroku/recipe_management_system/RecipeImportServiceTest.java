@@ -0,0 +1,130 @@
+package kosukeroku.recipe_management_system;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import kosukeroku.recipe_management_system.dto.RecipeImportItemDto;
+import kosukeroku.recipe_management_system.dto.RecipeImportResultDto;
+import kosukeroku.recipe_management_system.mapper.RecipeMapper;
+import kosukeroku.recipe_management_system.model.Recipe;
+import kosukeroku.recipe_management_system.model.User;
+import kosukeroku.recipe_management_system.repository.UserRepository;
+import kosukeroku.recipe_management_system.service.RecipeImportService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.MediaType;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class RecipeImportServiceTest {
+
+    private static final String EMAIL = "importer@test.com";
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final EntityManager entityManager = mock(EntityManager.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+    private final AtomicLong ids = new AtomicLong(100);
+    private ValidatorFactory validatorFactory;
+    private RecipeImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        User author = new User();
+        author.setId(7L);
+        author.setEmail(EMAIL);
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(author));
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        doAnswer(invocation -> {
+            Recipe recipe = invocation.getArgument(0);
+            if (recipe.getName().equals("Broken")) {
+                throw new PersistenceException("value too long");
+            }
+            recipe.setId(ids.incrementAndGet());
+            return null;
+        }).when(entityManager).persist(any(Recipe.class));
+
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        importService = new RecipeImportService(userRepository, new RecipeMapper(), validatorFactory.getValidator(),
+                new ObjectMapper(), entityManager, transactionTemplate, mock(ApplicationEventPublisher.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Test
+    void importRecipes_FromJsonArray_ShouldImportValidItemsAndReportInvalidOnes() throws IOException {
+        RecipeImportResultDto result = importJson(MediaType.APPLICATION_JSON,
+                "[" + recipe("Soup") + ", {\"name\": \"\", \"category\": \"Dinner\"}, " + recipe("Cake") + "]");
+
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getFailed()).isEqualTo(1);
+        assertThat(result.getStoppedAt()).isNull();
+        assertThat(result.getItems()).extracting(RecipeImportItemDto::getIndex).containsExactly(0, 1, 2);
+        assertThat(result.getItems().get(0).getId()).isNotNull();
+        assertThat(result.getItems().get(1).getErrors())
+                .containsKeys("name", "description", "ingredients", "directions");
+        assertThat(result.getItems().get(2).getId()).isNotNull();
+    }
+
+    @Test
+    void importRecipes_FromMalformedJsonArray_ShouldReportWhereParsingStopped() throws IOException {
+        RecipeImportResultDto result = importJson(MediaType.APPLICATION_JSON,
+                "[" + recipe("Soup") + ", {\"name\": ]");
+
+        assertThat(result.getImported()).isEqualTo(1);
+        assertThat(result.getStoppedAt()).isEqualTo(1);
+        assertThat(result.getItems().get(1).getErrors().get("error")).startsWith("Malformed recipe at line 1");
+    }
+
+    @Test
+    void importRecipes_FromNdjson_ShouldSkipMalformedLinesAndKeepReading() throws IOException {
+        RecipeImportResultDto result = importJson(MediaType.APPLICATION_NDJSON,
+                recipe("Soup") + "\n\n{\"name\": \n" + recipe("Cake") + "\n");
+
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getFailed()).isEqualTo(1);
+        assertThat(result.getStoppedAt()).isNull();
+        assertThat(result.getItems().get(1).getErrors().get("error")).startsWith("Malformed recipe on line 3");
+        assertThat(result.getItems().get(2).getId()).isNotNull();
+    }
+
+    @Test
+    void importRecipes_WhenChunkFails_ShouldRetryItemsOneByOne() throws IOException {
+        RecipeImportResultDto result = importJson(MediaType.APPLICATION_NDJSON,
+                recipe("Soup") + "\n" + recipe("Broken") + "\n" + recipe("Cake") + "\n");
+
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getFailed()).isEqualTo(1);
+        assertThat(result.getItems()).extracting(RecipeImportItemDto::getIndex).containsExactly(0, 1, 2);
+        assertThat(result.getItems().get(1).getErrors().get("error"))
+                .startsWith("Could not store recipe: ").contains("value too long");
+        verify(transactionTemplate, times(4)).execute(any());
+    }
+
+    private RecipeImportResultDto importJson(MediaType contentType, String body) throws IOException {
+        return importService.importRecipes(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)),
+                contentType, EMAIL);
+    }
+
+    private static String recipe(String name) {
+        return "{\"name\": \"" + name + "\", \"category\": \"Dinner\", \"description\": \"Tasty\","
+                + " \"ingredients\": [\"salt\"], \"directions\": [\"Cook\"]}";
+    }
+}
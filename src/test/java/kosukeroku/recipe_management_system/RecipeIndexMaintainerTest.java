@@ -0,0 +1,97 @@
+package kosukeroku.recipe_management_system;
+
+import kosukeroku.recipe_management_system.event.RecipeChangedEvent;
+import kosukeroku.recipe_management_system.index.RecipeIndexMaintainer;
+import kosukeroku.recipe_management_system.index.RecipeVersionIndex;
+import kosukeroku.recipe_management_system.model.Recipe;
+import kosukeroku.recipe_management_system.repository.RecipeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RecipeIndexMaintainerTest {
+
+    private RecipeRepository recipeRepository;
+    private RecipeVersionIndex versionIndex;
+    private RecipeIndexMaintainer maintainer;
+
+    @BeforeEach
+    void setUp() {
+        recipeRepository = mock(RecipeRepository.class);
+        versionIndex = new RecipeVersionIndex();
+        maintainer = new RecipeIndexMaintainer(List.of(versionIndex), recipeRepository,
+                mock(PlatformTransactionManager.class));
+    }
+
+    @Test
+    void rebuild_ShouldReplayDeleteThatCommittedAfterItsPageWasRead() {
+        when(recipeRepository.findFirstPage(any())).thenAnswer(invocation -> {
+            List<Recipe> page = List.of(recipe(1L), recipe(2L));
+            maintainer.onRecipeChanged(RecipeChangedEvent.deleted(2L, 0L));
+            return page;
+        });
+
+        maintainer.rebuild();
+
+        assertThat(versionIndex.version(1L)).hasValue(0L);
+        assertThat(versionIndex.version(2L)).isEmpty();
+    }
+
+    @Test
+    void start_ShouldBuildIndexesBeforeReportingRunning() {
+        when(recipeRepository.findFirstPage(any())).thenReturn(List.of(recipe(1L)));
+
+        maintainer.start();
+
+        assertThat(maintainer.isRunning()).isTrue();
+        assertThat(versionIndex.version(1L)).hasValue(0L);
+    }
+
+    @Test
+    void onRecipeChanged_ShouldIgnoreChangesOlderThanTheIndexedVersion() {
+        when(recipeRepository.findFirstPage(any())).thenReturn(List.of());
+        maintainer.start();
+
+        maintainer.onRecipeChanged(RecipeChangedEvent.saved(recipe(1L, 2L)));
+        maintainer.onRecipeChanged(RecipeChangedEvent.saved(recipe(1L, 1L)));
+        maintainer.onRecipeChanged(RecipeChangedEvent.deleted(1L, 2L));
+        maintainer.onRecipeChanged(RecipeChangedEvent.saved(recipe(1L, 2L)));
+
+        assertThat(versionIndex.version(1L)).isEmpty();
+    }
+
+    @Test
+    void saved_ShouldCarrySnapshotDetachedFromTheEntity() {
+        Recipe recipe = recipe(1L);
+        recipe.setIngredients(new ArrayList<>(List.of("salt")));
+
+        RecipeChangedEvent event = RecipeChangedEvent.saved(recipe);
+        recipe.getIngredients().add("pepper");
+        recipe.setName("Renamed");
+
+        assertThat(event.getRecipe()).isNotSameAs(recipe);
+        assertThat(event.getRecipe().getIngredients()).containsExactly("salt");
+        assertThat(event.getRecipe().getName()).isNull();
+    }
+
+    private Recipe recipe(long id) {
+        return recipe(id, 0L);
+    }
+
+    private Recipe recipe(long id, long version) {
+        Recipe recipe = new Recipe();
+        recipe.setId(id);
+        recipe.setVersion(version);
+        recipe.setDate(LocalDateTime.now());
+        return recipe;
+    }
+}
@@ -0,0 +1,176 @@
+package kosukeroku.recipe_management_system;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import kosukeroku.recipe_management_system.dto.RecipeRequestDto;
+import kosukeroku.recipe_management_system.exception.IdempotencyKeyReusedException;
+import kosukeroku.recipe_management_system.model.RecipeIdempotencyKey;
+import kosukeroku.recipe_management_system.model.RecipeIngestFailure;
+import kosukeroku.recipe_management_system.repository.RecipeIdempotencyKeyRepository;
+import kosukeroku.recipe_management_system.repository.RecipeIngestFailureRepository;
+import kosukeroku.recipe_management_system.service.RecipeIdAllocator;
+import kosukeroku.recipe_management_system.service.RecipeIngestService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class RecipeIngestServiceTest {
+
+    private static final long AUTHOR_ID = 7L;
+
+    @TempDir
+    Path directory;
+
+    private final RecipeIdAllocator idAllocator = mock(RecipeIdAllocator.class);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+    private final RecipeIdempotencyKeyRepository keyRepository = mock(RecipeIdempotencyKeyRepository.class);
+    private final RecipeIngestFailureRepository failureRepository = mock(RecipeIngestFailureRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private RecipeIngestService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        when(idAllocator.nextId()).thenReturn(101L, 102L, 103L);
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        service = openService();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        service.close();
+    }
+
+    @Test
+    void accept_WithRepeatedIdempotencyKey_ShouldReturnOriginalId() {
+        long first = service.accept(recipe("Soup"), AUTHOR_ID, "key-1");
+        long retry = service.accept(recipe("Soup"), AUTHOR_ID, "key-1");
+        long other = service.accept(recipe("Soup"), AUTHOR_ID, "key-2");
+
+        assertThat(first).isEqualTo(101L);
+        assertThat(retry).isEqualTo(101L);
+        assertThat(other).isEqualTo(102L);
+        assertThat(service.pendingCount()).isEqualTo(2);
+        assertThat(service.isPending(101L)).isTrue();
+    }
+
+    @Test
+    void accept_WithIdempotencyKeyReusedForDifferentRecipe_ShouldThrow() {
+        service.accept(recipe("Soup"), AUTHOR_ID, "key-1");
+
+        assertThatThrownBy(() -> service.accept(recipe("Cake"), AUTHOR_ID, "key-1"))
+                .isInstanceOf(IdempotencyKeyReusedException.class);
+    }
+
+    @Test
+    void accept_WithKeyOfAlreadyWrittenRecipe_ShouldReturnStoredId() {
+        RecipeIdempotencyKey.Key key = new RecipeIdempotencyKey.Key(AUTHOR_ID, "key-9");
+        when(keyRepository.findById(key)).thenReturn(Optional.of(
+                new RecipeIdempotencyKey(key, 55L, RecipeIngestService.fingerprint(recipe("Soup")), LocalDateTime.now())));
+
+        assertThat(service.accept(recipe("Soup"), AUTHOR_ID, "key-9")).isEqualTo(55L);
+        verify(idAllocator, never()).nextId();
+    }
+
+    @Test
+    void open_ShouldRecoverUnwrittenRecipesAndTheirKeysFromJournal() throws IOException {
+        service.accept(recipe("Soup"), AUTHOR_ID, "key-1");
+        service.accept(recipe("Cake"), AUTHOR_ID, null);
+
+        RecipeIngestService restarted = openService();
+
+        assertThat(restarted.pendingCount()).isEqualTo(2);
+        assertThat(restarted.accept(recipe("Soup"), AUTHOR_ID, "key-1")).isEqualTo(101L);
+        verify(idAllocator, times(2)).nextId();
+        restarted.close();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_WithPermanentlyRejectedRecipe_ShouldRecordFailure() {
+        doThrow(new DataIntegrityViolationException("author missing")).when(jdbcTemplate)
+                .batchUpdate(startsWith("INSERT INTO recipes "), anyCollection(), anyInt(),
+                        any(ParameterizedPreparedStatementSetter.class));
+        service.accept(recipe("Soup"), AUTHOR_ID, "key-1");
+
+        service.flush();
+
+        verify(failureRepository).save(argThat((RecipeIngestFailure failure) ->
+                failure.getRecipeId() == 101L && failure.getReason().contains("author missing")));
+        assertThat(service.pendingCount()).isZero();
+        assertThat(service.isPending(101L)).isFalse();
+        assertThat(meterRegistry.get("recipe.ingest.failed").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_ShouldCompactJournalToUnwrittenRecipesBetweenBatches() throws IOException {
+        service.close();
+        service = openService(1, 2);
+        Path journal = directory.resolve("ingest.ndjson");
+        List<Integer> journalLines = new ArrayList<>();
+        doAnswer(invocation -> {
+            journalLines.add(Files.readAllLines(journal).size());
+            return new int[0][];
+        }).when(jdbcTemplate).batchUpdate(startsWith("INSERT INTO recipes "), anyCollection(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+        service.accept(recipe("Soup"), AUTHOR_ID, "key-1");
+        service.accept(recipe("Cake"), AUTHOR_ID, "key-2");
+        service.accept(recipe("Stew"), AUTHOR_ID, "key-3");
+
+        service.flush();
+
+        assertThat(journalLines).containsExactly(3, 3, 1);
+        assertThat(Files.size(journal)).isZero();
+    }
+
+    @Test
+    void fingerprint_ShouldDependOnContentNotIdentity() {
+        assertThat(RecipeIngestService.fingerprint(recipe("Soup")))
+                .hasSize(64)
+                .isEqualTo(RecipeIngestService.fingerprint(recipe("Soup")))
+                .isNotEqualTo(RecipeIngestService.fingerprint(recipe("Cake")));
+    }
+
+    private RecipeIngestService openService() throws IOException {
+        return openService(500, 10_000);
+    }
+
+    private RecipeIngestService openService(int batchSize, int journalCompactEntries) throws IOException {
+        RecipeIngestService ingestService = new RecipeIngestService(idAllocator, jdbcTemplate, transactionTemplate,
+                mock(ApplicationEventPublisher.class), objectMapper, meterRegistry, keyRepository, failureRepository,
+                true, directory.resolve("ingest.ndjson"), batchSize, Duration.ofHours(1), journalCompactEntries);
+        ingestService.open();
+        return ingestService;
+    }
+
+    private static RecipeRequestDto recipe(String name) {
+        return new RecipeRequestDto(name, "Dinner", "Tasty", List.of("salt"), List.of("Cook"));
+    }
+}
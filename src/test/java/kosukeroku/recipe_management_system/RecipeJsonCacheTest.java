@@ -0,0 +1,96 @@
+package kosukeroku.recipe_management_system;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kosukeroku.recipe_management_system.config.CacheConfig;
+import kosukeroku.recipe_management_system.dto.RecipeResponseDto;
+import kosukeroku.recipe_management_system.index.RecipeVersionIndex;
+import kosukeroku.recipe_management_system.model.Recipe;
+import kosukeroku.recipe_management_system.service.RecipeJsonCache;
+import kosukeroku.recipe_management_system.service.RecipeService;
+import kosukeroku.recipe_management_system.service.SerializedRecipe;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class RecipeJsonCacheTest {
+
+    private static final long RECIPE_ID = 7L;
+
+    private final RecipeService recipeService = mock(RecipeService.class);
+    private final RecipeVersionIndex recipeVersionIndex = new RecipeVersionIndex();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private RecipeJsonCache recipeJsonCache;
+
+    @BeforeEach
+    void setUp() {
+        recipeJsonCache = new RecipeJsonCache(recipeService, recipeVersionIndex, objectMapper,
+                new ConcurrentMapCacheManager(CacheConfig.RECIPE_JSON_CACHE), 64);
+        when(recipeService.getRecipeById(RECIPE_ID)).thenReturn(Optional.of(dto(1L)));
+        recipeVersionIndex.add(recipe(1L));
+    }
+
+    @Test
+    void get_ShouldServeCachedBytesWhileVersionIsUnchanged() throws IOException {
+        SerializedRecipe first = recipeJsonCache.get(RECIPE_ID).orElseThrow();
+        SerializedRecipe second = recipeJsonCache.get(RECIPE_ID).orElseThrow();
+
+        assertThat(second).isSameAs(first);
+        assertThat(objectMapper.readValue(first.json(), RecipeResponseDto.class).getName()).isEqualTo("Pasta Carbonara");
+        assertThat(new GZIPInputStream(new ByteArrayInputStream(first.gzippedJson())).readAllBytes())
+                .isEqualTo(first.json());
+        verify(recipeService, times(1)).getRecipeById(RECIPE_ID);
+    }
+
+    @Test
+    void get_ShouldReserializeWhenVersionChanges() {
+        recipeJsonCache.get(RECIPE_ID);
+        recipeVersionIndex.add(recipe(2L));
+        when(recipeService.getRecipeById(RECIPE_ID)).thenReturn(Optional.of(dto(2L)));
+
+        SerializedRecipe refreshed = recipeJsonCache.get(RECIPE_ID).orElseThrow();
+
+        assertThat(refreshed.version()).isEqualTo(2L);
+        verify(recipeService, times(2)).getRecipeById(RECIPE_ID);
+    }
+
+    @Test
+    void get_ShouldTagBytesWithTheVersionThatWasLoaded() {
+        when(recipeService.getRecipeById(RECIPE_ID)).thenAnswer(invocation -> {
+            recipeVersionIndex.add(recipe(2L));
+            return Optional.of(dto(1L));
+        });
+
+        SerializedRecipe raced = recipeJsonCache.get(RECIPE_ID).orElseThrow();
+
+        assertThat(raced.version()).isEqualTo(1L);
+
+        when(recipeService.getRecipeById(RECIPE_ID)).thenReturn(Optional.of(dto(2L)));
+        SerializedRecipe next = recipeJsonCache.get(RECIPE_ID).orElseThrow();
+
+        assertThat(next.version()).isEqualTo(2L);
+        assertThat(recipeJsonCache.get(RECIPE_ID).orElseThrow()).isSameAs(next);
+        verify(recipeService, times(2)).getRecipeById(RECIPE_ID);
+    }
+
+    private static RecipeResponseDto dto(long version) {
+        return new RecipeResponseDto("Pasta Carbonara", "dinner", "2024-01-01T10:00",
+                "Creamy Italian pasta with bacon", List.of("spaghetti", "eggs"), List.of("Cook pasta", "Combine all"),
+                "author@example.com", version);
+    }
+
+    private Recipe recipe(long version) {
+        Recipe recipe = new Recipe();
+        recipe.setId(RECIPE_ID);
+        recipe.setVersion(version);
+        return recipe;
+    }
+}
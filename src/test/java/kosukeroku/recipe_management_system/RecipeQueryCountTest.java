@@ -0,0 +1,85 @@
+package kosukeroku.recipe_management_system;
+
+import jakarta.persistence.EntityManagerFactory;
+import kosukeroku.recipe_management_system.model.Recipe;
+import kosukeroku.recipe_management_system.repository.RecipeRepository;
+import kosukeroku.recipe_management_system.service.RecipeService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class RecipeQueryCountTest {
+
+    private static final String CATEGORY = "query-count";
+    private static final String NAME = "Query count recipe";
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        recipeRepository.deleteAll();
+    }
+
+    @Test
+    void listEndpoints_ShouldIssueConstantQueryCountRegardlessOfResultSize() {
+        saveRecipes(2);
+        long categoryQueries = countQueries(() -> recipeService.searchByCategory(CATEGORY));
+        long nameQueries = countQueries(() -> recipeService.searchByName(NAME));
+        long pageQueries = countQueries(() -> recipeService.getAllRecipes(null, RecipeService.MAX_PAGE_SIZE));
+
+        saveRecipes(40);
+
+        assertThat(countQueries(() -> assertThat(recipeService.searchByCategory(CATEGORY)).hasSize(42)))
+                .isEqualTo(categoryQueries)
+                .isLessThanOrEqualTo(3);
+        assertThat(countQueries(() -> assertThat(recipeService.searchByName(NAME)).hasSize(42)))
+                .isEqualTo(nameQueries)
+                .isLessThanOrEqualTo(3);
+        assertThat(countQueries(() -> recipeService.getAllRecipes(null, RecipeService.MAX_PAGE_SIZE)))
+                .isEqualTo(pageQueries)
+                .isLessThanOrEqualTo(3);
+    }
+
+    private long countQueries(Runnable action) {
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void saveRecipes(int count) {
+        for (int i = 0; i < count; i++) {
+            Recipe recipe = new Recipe();
+            recipe.setName(NAME + " " + i);
+            recipe.setCategory(CATEGORY);
+            recipe.setDescription("Description");
+            recipe.setIngredients(List.of("ing1", "ing2"));
+            recipe.setDirections(List.of("step1", "step2"));
+            recipe.setDate(LocalDateTime.now().minusMinutes(i));
+            recipeRepository.save(recipe);
+        }
+    }
+}
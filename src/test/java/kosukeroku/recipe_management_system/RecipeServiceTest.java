@@ -1,24 +1,44 @@
 package kosukeroku.recipe_management_system;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kosukeroku.recipe_management_system.config.CacheConfig;
+import kosukeroku.recipe_management_system.dto.RecipePageDto;
 import kosukeroku.recipe_management_system.dto.RecipeRequestDto;
 import kosukeroku.recipe_management_system.dto.RecipeResponseDto;
+import kosukeroku.recipe_management_system.exception.InvalidCursorException;
+import kosukeroku.recipe_management_system.exception.InvalidRecipePatchException;
 import kosukeroku.recipe_management_system.exception.RecipeNotFoundException;
+import kosukeroku.recipe_management_system.exception.RecipeVersionConflictException;
+import kosukeroku.recipe_management_system.exception.UserNotFoundException;
+import kosukeroku.recipe_management_system.index.RecipeVersionIndex;
 import kosukeroku.recipe_management_system.mapper.RecipeMapper;
 import kosukeroku.recipe_management_system.model.Recipe;
+import kosukeroku.recipe_management_system.model.User;
+import kosukeroku.recipe_management_system.repository.RecipeLineRow;
 import kosukeroku.recipe_management_system.repository.RecipeRepository;
+import kosukeroku.recipe_management_system.repository.RecipeRow;
+import kosukeroku.recipe_management_system.service.RecipeCursor;
 import kosukeroku.recipe_management_system.service.RecipeService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Pageable;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 
@@ -34,6 +54,15 @@ public class RecipeServiceTest {
     @Autowired
     private RecipeService recipeService;
 
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private RecipeVersionIndex recipeVersionIndex;
+
 
     private RecipeRequestDto requestDto;
     private Recipe entity;
@@ -41,6 +70,8 @@ public class RecipeServiceTest {
     private Recipe savedEntity;
     private RecipeResponseDto responseDto;
     private RecipeResponseDto anotherResponseDto;
+    private RecipeRow row;
+    private RecipeRow anotherRow;
 
     private static final Long EXISTING_RECIPE_ID = 1L;
     private static final Long NON_EXISTING_RECIPE_ID = 999L;
@@ -49,9 +80,12 @@ public class RecipeServiceTest {
     private static final String DINNER_CATEGORY = "dinner";
     private static final String PASTA_SUBSTRING = "pasta";
     private static final String CAKE_SUBSTRING = "cake";
+    private static final String AUTHOR_EMAIL = "author@example.com";
 
     @BeforeEach
     void setUp() {
+        cacheManager.getCache(CacheConfig.RECIPES_CACHE).clear();
+
         requestDto = new RecipeRequestDto(
                 "Pasta Carbonara",
                 "dinner",
@@ -95,6 +129,11 @@ public class RecipeServiceTest {
                 List.of("Cook pasta", "Fry bacon", "Mix eggs with cheese", "Combine all")
         );
 
+        row = new RecipeRow(EXISTING_RECIPE_ID, entity.getName(), entity.getCategory(), entity.getDate(),
+                entity.getDescription(), AUTHOR_EMAIL, 0L);
+        anotherRow = new RecipeRow(ANOTHER_RECIPE_ID, anotherEntity.getName(), anotherEntity.getCategory(),
+                anotherEntity.getDate(), anotherEntity.getDescription(), AUTHOR_EMAIL, 0L);
+
         anotherResponseDto = new RecipeResponseDto();
         anotherResponseDto.setName("Greek Salad");
         anotherResponseDto.setCategory(DINNER_CATEGORY);
@@ -121,8 +160,8 @@ public class RecipeServiceTest {
     @Test
     public void getRecipeByValidId_shouldReturnRecipe() {
 
-        when(recipeMapper.toDto(entity)).thenReturn(responseDto);
-        when(recipeRepository.findById(EXISTING_RECIPE_ID)).thenReturn(Optional.of(entity));
+        when(recipeMapper.toDto(eq(row), anyList(), anyList())).thenReturn(responseDto);
+        when(recipeRepository.findRowById(EXISTING_RECIPE_ID)).thenReturn(Optional.of(row));
 
         Optional<RecipeResponseDto> result = recipeService.getRecipeById(EXISTING_RECIPE_ID);
 
@@ -132,8 +171,7 @@ public class RecipeServiceTest {
 
     @Test
     public void getRecipeByInvalidId_shouldReturnEmptyOptional() {
-        when(recipeMapper.toDto(entity)).thenReturn(responseDto);
-        when(recipeRepository.findById(NON_EXISTING_RECIPE_ID)).thenReturn(Optional.empty());
+        when(recipeRepository.findRowById(NON_EXISTING_RECIPE_ID)).thenReturn(Optional.empty());
 
         Optional<RecipeResponseDto> result = recipeService.getRecipeById(NON_EXISTING_RECIPE_ID);
 
@@ -197,9 +235,11 @@ public class RecipeServiceTest {
     @Test
     public void searchByValidCategory_shouldReturnEntities() {
 
-        when(recipeRepository.findByCategoryIgnoreCaseOrderByDateDesc(DINNER_CATEGORY)).thenReturn(List.of(entity, anotherEntity));
-        when(recipeMapper.toDto(entity)).thenReturn(responseDto);
-        when(recipeMapper.toDto(anotherEntity)).thenReturn(anotherResponseDto);
+        when(recipeRepository.findRowsByCategoryKey(DINNER_CATEGORY)).thenReturn(List.of(row, anotherRow));
+        when(recipeRepository.findIngredientLines(List.of(EXISTING_RECIPE_ID, ANOTHER_RECIPE_ID))).thenReturn(List.of(
+                new RecipeLineRow(EXISTING_RECIPE_ID, "spaghetti"), new RecipeLineRow(ANOTHER_RECIPE_ID, "tomatoes")));
+        when(recipeMapper.toDto(eq(row), anyList(), anyList())).thenReturn(responseDto);
+        when(recipeMapper.toDto(eq(anotherRow), anyList(), anyList())).thenReturn(anotherResponseDto);
 
         List<RecipeResponseDto> result = recipeService.searchByCategory(DINNER_CATEGORY);
 
@@ -207,48 +247,234 @@ public class RecipeServiceTest {
         assertThat(result).extracting(RecipeResponseDto::getName).containsExactlyInAnyOrder(responseDto.getName(), anotherResponseDto.getName());
         assertThat(result).extracting(RecipeResponseDto::getCategory).containsOnly(DINNER_CATEGORY);
 
-        verify(recipeRepository, times(1)).findByCategoryIgnoreCaseOrderByDateDesc(DINNER_CATEGORY);
-        verify(recipeMapper, times(1)).toDto(entity);
-        verify(recipeMapper, times(1)).toDto(anotherEntity);
+        verify(recipeRepository, times(1)).findRowsByCategoryKey(DINNER_CATEGORY);
+        verify(recipeMapper, times(1)).toDto(row, List.of("spaghetti"), List.of());
+        verify(recipeMapper, times(1)).toDto(anotherRow, List.of("tomatoes"), List.of());
 
     }
 
     @Test
     public void searchByInvalidCategory_shouldReturnEmptyList() {
 
-        when(recipeRepository.findByCategoryIgnoreCaseOrderByDateDesc(LUNCH_CATEGORY)).thenReturn(Collections.emptyList());
+        when(recipeRepository.findRowsByCategoryKey(LUNCH_CATEGORY)).thenReturn(Collections.emptyList());
 
         List<RecipeResponseDto> result = recipeService.searchByCategory(LUNCH_CATEGORY);
 
         assertThat(result).isEmpty();
-        verify(recipeRepository, times(1)).findByCategoryIgnoreCaseOrderByDateDesc(LUNCH_CATEGORY);
-        verify(recipeMapper, never()).toDto(any(Recipe.class));
+        verify(recipeRepository, times(1)).findRowsByCategoryKey(LUNCH_CATEGORY);
+        verify(recipeRepository, never()).findIngredientLines(any());
     }
 
     @Test
     public void searchByValidName_shouldReturnEntities() {
 
-        when(recipeRepository.findByNameContainingIgnoreCaseOrderByDateDesc(PASTA_SUBSTRING)).thenReturn(Collections.singletonList(entity));
-        when(recipeMapper.toDto(entity)).thenReturn(responseDto);
+        when(recipeRepository.findRowsByNameLike("%" + PASTA_SUBSTRING + "%")).thenReturn(Collections.singletonList(row));
+        when(recipeMapper.toDto(eq(row), anyList(), anyList())).thenReturn(responseDto);
 
         List<RecipeResponseDto> result = recipeService.searchByName(PASTA_SUBSTRING);
 
         assertThat(result).hasSize(1);
         assertThat(result).extracting(RecipeResponseDto::getName).containsExactly(responseDto.getName());
 
-        verify(recipeRepository, times(1)).findByNameContainingIgnoreCaseOrderByDateDesc(PASTA_SUBSTRING);
-        verify(recipeMapper, times(1)).toDto(entity);
+        verify(recipeRepository, times(1)).findRowsByNameLike("%" + PASTA_SUBSTRING + "%");
+        verify(recipeMapper, times(1)).toDto(eq(row), anyList(), anyList());
     }
 
     @Test
     public void searchByInvalidName_shouldReturnEmptyList() {
 
-        when(recipeRepository.findByNameContainingIgnoreCaseOrderByDateDesc(CAKE_SUBSTRING)).thenReturn(Collections.emptyList());
+        when(recipeRepository.findRowsByNameLike("%" + CAKE_SUBSTRING + "%")).thenReturn(Collections.emptyList());
 
         List<RecipeResponseDto> result = recipeService.searchByName(CAKE_SUBSTRING);
 
         assertThat(result).isEmpty();
-        verify(recipeRepository, times(1)).findByNameContainingIgnoreCaseOrderByDateDesc(CAKE_SUBSTRING);
-        verify(recipeMapper, never()).toDto(any(Recipe.class));
+        verify(recipeRepository, times(1)).findRowsByNameLike("%" + CAKE_SUBSTRING + "%");
+        verify(recipeRepository, never()).findIngredientLines(any());
+    }
+
+    @Test
+    public void getAllRecipesFirstPage_shouldReturnCursorWhenMoreRecipesExist() {
+
+        when(recipeRepository.findFirstPageRows(any(Pageable.class))).thenReturn(List.of(row, anotherRow));
+        when(recipeMapper.toDto(eq(row), anyList(), anyList())).thenReturn(responseDto);
+
+        RecipePageDto result = recipeService.getAllRecipes(null, 1);
+
+        assertThat(result.getRecipes()).containsExactly(responseDto);
+        assertThat(RecipeCursor.decode(result.getNextCursor())).isEqualTo(RecipeCursor.of(row));
+        verify(recipeMapper, never()).toDto(eq(anotherRow), anyList(), anyList());
+    }
+
+    @Test
+    public void getAllRecipesWithCursor_shouldContinueAfterCursor() {
+
+        RecipeCursor cursor = RecipeCursor.of(anotherRow);
+        when(recipeRepository.findPageRowsAfter(eq(anotherRow.date()), eq(ANOTHER_RECIPE_ID), any(Pageable.class)))
+                .thenReturn(List.of(row));
+        when(recipeMapper.toDto(eq(row), anyList(), anyList())).thenReturn(responseDto);
+
+        RecipePageDto result = recipeService.getAllRecipes(cursor.encode(), 20);
+
+        assertThat(result.getRecipes()).containsExactly(responseDto);
+        assertThat(result.getNextCursor()).isNull();
+        verify(recipeRepository, never()).findFirstPageRows(any(Pageable.class));
+    }
+
+    @Test
+    public void getAllRecipesWithInvalidCursor_shouldThrowException() {
+
+        assertThatThrownBy(() -> recipeService.getAllRecipes("not-a-cursor", 20)).isInstanceOf(InvalidCursorException.class);
+
+        verify(recipeRepository, never()).findPageRowsAfter(any(), anyLong(), any(Pageable.class));
+    }
+
+    @Test
+    public void getRecipesByUnknownAuthor_shouldThrowException() {
+
+        assertThatThrownBy(() -> recipeService.getRecipesByAuthor(Long.MAX_VALUE, null, 20))
+                .isInstanceOf(UserNotFoundException.class);
+
+        verify(recipeRepository, never()).findFirstPageRowsByAuthor(anyLong(), any(Pageable.class));
+    }
+
+    @Test
+    public void getRecipeByIdTwice_shouldLoadRecipeOnce() {
+
+        when(recipeRepository.findRowById(EXISTING_RECIPE_ID)).thenReturn(Optional.of(row));
+        when(recipeMapper.toDto(eq(row), anyList(), anyList())).thenReturn(responseDto);
+
+        assertThat(recipeService.getRecipeById(EXISTING_RECIPE_ID)).contains(responseDto);
+        assertThat(recipeService.getRecipeById(EXISTING_RECIPE_ID)).contains(responseDto);
+
+        verify(recipeRepository, times(1)).findRowById(EXISTING_RECIPE_ID);
+    }
+
+    @Test
+    public void getRecipeById_shouldReloadCachedRecipeOlderThanIndexedVersion() {
+
+        RecipeResponseDto updatedDto = new RecipeResponseDto();
+        updatedDto.setName("Pasta Carbonara v2");
+        updatedDto.setVersion(1L);
+        when(recipeRepository.findRowById(EXISTING_RECIPE_ID)).thenReturn(Optional.of(row));
+        when(recipeMapper.toDto(eq(row), anyList(), anyList())).thenReturn(responseDto, updatedDto);
+
+        recipeService.getRecipeById(EXISTING_RECIPE_ID);
+        Recipe updated = new Recipe();
+        updated.setId(EXISTING_RECIPE_ID);
+        updated.setVersion(1L);
+        recipeVersionIndex.add(updated);
+
+        try {
+            assertThat(recipeService.getRecipeById(EXISTING_RECIPE_ID)).contains(updatedDto);
+            assertThat(recipeService.getRecipeById(EXISTING_RECIPE_ID)).contains(updatedDto);
+            verify(recipeRepository, times(2)).findRowById(EXISTING_RECIPE_ID);
+        } finally {
+            recipeVersionIndex.remove(EXISTING_RECIPE_ID);
+        }
+    }
+
+    @Test
+    public void updateRecipe_shouldEvictCachedRecipe() {
+
+        User author = new User();
+        author.setEmail(AUTHOR_EMAIL);
+        entity.setAuthor(author);
+        when(recipeRepository.findById(EXISTING_RECIPE_ID)).thenReturn(Optional.of(entity));
+        when(recipeRepository.findRowById(EXISTING_RECIPE_ID)).thenReturn(Optional.of(row));
+        when(recipeMapper.toDto(eq(row), anyList(), anyList())).thenReturn(responseDto);
+
+        recipeService.getRecipeById(EXISTING_RECIPE_ID);
+        recipeService.updateRecipeById(EXISTING_RECIPE_ID, requestDto, AUTHOR_EMAIL, null);
+        recipeService.getRecipeById(EXISTING_RECIPE_ID);
+
+        verify(recipeRepository, times(2)).findRowById(EXISTING_RECIPE_ID);
+    }
+
+    @Test
+    public void updateRecipeWithStaleVersion_shouldThrowConflict() {
+
+        User author = new User();
+        author.setEmail(AUTHOR_EMAIL);
+        entity.setAuthor(author);
+        entity.setVersion(2L);
+        when(recipeRepository.findById(EXISTING_RECIPE_ID)).thenReturn(Optional.of(entity));
+
+        assertThatThrownBy(() -> recipeService.updateRecipeById(EXISTING_RECIPE_ID, requestDto, AUTHOR_EMAIL, 1L))
+                .isInstanceOf(RecipeVersionConflictException.class);
+
+        verify(recipeRepository, never()).saveAndFlush(any(Recipe.class));
+    }
+
+    @Test
+    public void updateRecipe_shouldUpdateCollectionsInPlace() {
+
+        User author = new User();
+        author.setEmail(AUTHOR_EMAIL);
+        entity.setAuthor(author);
+        List<String> ingredients = new ArrayList<>(List.of("spaghetti", "eggs", "bacon", "parmesan"));
+        List<String> directions = new ArrayList<>(List.of("Cook pasta", "Fry bacon", "Mix eggs with cheese", "Combine all"));
+        entity.setIngredients(ingredients);
+        entity.setDirections(directions);
+        when(recipeRepository.findById(EXISTING_RECIPE_ID)).thenReturn(Optional.of(entity));
+
+        requestDto.setIngredients(List.of("spaghetti", "eggs", "pancetta", "parmesan", "pepper"));
+        requestDto.setDirections(List.of("Cook pasta", "Fry pancetta"));
+        recipeService.updateRecipeById(EXISTING_RECIPE_ID, requestDto, AUTHOR_EMAIL, null);
+
+        assertThat(entity.getIngredients()).isSameAs(ingredients)
+                .containsExactly("spaghetti", "eggs", "pancetta", "parmesan", "pepper");
+        assertThat(entity.getDirections()).isSameAs(directions)
+                .containsExactly("Cook pasta", "Fry pancetta");
+    }
+
+    @Test
+    public void patchRecipe_shouldOnlyChangePatchedFields() throws Exception {
+
+        User author = new User();
+        author.setEmail(AUTHOR_EMAIL);
+        entity.setAuthor(author);
+        List<String> ingredients = entity.getIngredients();
+        LocalDateTime originalDate = entity.getDate();
+        when(recipeRepository.findById(EXISTING_RECIPE_ID)).thenReturn(Optional.of(entity));
+
+        JsonNode patch = objectMapper.readTree("{\"name\": \"Spaghetti Carbonara\"}");
+        recipeService.patchRecipeById(EXISTING_RECIPE_ID, patch, AUTHOR_EMAIL, null);
+
+        assertThat(entity.getName()).isEqualTo("Spaghetti Carbonara");
+        assertThat(entity.getDescription()).isEqualTo("Creamy Italian pasta with bacon");
+        assertThat(entity.getIngredients()).isSameAs(ingredients);
+        assertThat(entity.getDate()).isAfterOrEqualTo(originalDate);
+        verify(recipeRepository, times(1)).saveAndFlush(entity);
+    }
+
+    @Test
+    public void patchRecipeWithoutChanges_shouldNotWrite() throws Exception {
+
+        User author = new User();
+        author.setEmail(AUTHOR_EMAIL);
+        entity.setAuthor(author);
+        LocalDateTime originalDate = entity.getDate();
+        when(recipeRepository.findById(EXISTING_RECIPE_ID)).thenReturn(Optional.of(entity));
+
+        JsonNode patch = objectMapper.readTree("{\"category\": \"dinner\"}");
+        recipeService.patchRecipeById(EXISTING_RECIPE_ID, patch, AUTHOR_EMAIL, null);
+
+        assertThat(entity.getDate()).isEqualTo(originalDate);
+        verify(recipeRepository, never()).saveAndFlush(any(Recipe.class));
+    }
+
+    @Test
+    public void patchRecipeRemovingRequiredField_shouldThrowException() throws Exception {
+
+        User author = new User();
+        author.setEmail(AUTHOR_EMAIL);
+        entity.setAuthor(author);
+        when(recipeRepository.findById(EXISTING_RECIPE_ID)).thenReturn(Optional.of(entity));
+
+        JsonNode patch = objectMapper.readTree("{\"description\": null}");
+
+        assertThatThrownBy(() -> recipeService.patchRecipeById(EXISTING_RECIPE_ID, patch, AUTHOR_EMAIL, null))
+                .isInstanceOf(InvalidRecipePatchException.class);
+        verify(recipeRepository, never()).saveAndFlush(any(Recipe.class));
     }
 }
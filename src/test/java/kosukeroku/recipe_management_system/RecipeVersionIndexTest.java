@@ -0,0 +1,72 @@
+package kosukeroku.recipe_management_system;
+
+import kosukeroku.recipe_management_system.index.RecipeVersionIndex;
+import kosukeroku.recipe_management_system.model.Recipe;
+import kosukeroku.recipe_management_system.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecipeVersionIndexTest {
+
+    private RecipeVersionIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new RecipeVersionIndex();
+        index.add(recipe(1L, 0L));
+        index.add(recipe(2L, 4L));
+    }
+
+    @Test
+    void version_ShouldTrackLatestRecipeVersion() {
+        index.add(recipe(1L, 1L));
+
+        assertThat(index.version(1L)).hasValue(1L);
+        assertThat(index.version(2L)).hasValue(4L);
+        assertThat(index.version(3L)).isEmpty();
+    }
+
+    @Test
+    void catalogVersion_ShouldChangeOnEveryModification() {
+        String initial = index.catalogVersion();
+
+        index.remove(2L);
+        String afterRemove = index.catalogVersion();
+        index.add(recipe(3L, 0L));
+
+        assertThat(afterRemove).isNotEqualTo(initial);
+        assertThat(index.catalogVersion()).isNotEqualTo(afterRemove);
+        assertThat(index.version(2L)).isEmpty();
+    }
+
+    @Test
+    void authorVersion_ShouldOnlyChangeForTheAuthorWhoseRecipesChanged() {
+        index.add(recipe(10L, 0L, 7L));
+        index.add(recipe(11L, 0L, 8L));
+        String seven = index.authorVersion(7L);
+        String eight = index.authorVersion(8L);
+
+        index.remove(10L);
+
+        assertThat(index.authorVersion(7L)).isNotEqualTo(seven);
+        assertThat(index.authorVersion(8L)).isEqualTo(eight);
+        assertThat(index.authorVersion(7L)).isNotEqualTo(index.authorVersion(8L));
+    }
+
+    private Recipe recipe(long id, long version, long authorId) {
+        User author = new User();
+        author.setId(authorId);
+        Recipe recipe = recipe(id, version);
+        recipe.setAuthor(author);
+        return recipe;
+    }
+
+    private Recipe recipe(long id, long version) {
+        Recipe recipe = new Recipe();
+        recipe.setId(id);
+        recipe.setVersion(version);
+        return recipe;
+    }
+}
@@ -0,0 +1,121 @@
+package kosukeroku.recipe_management_system;
+
+import kosukeroku.recipe_management_system.datasource.ReplicaFreshnessTracker;
+import kosukeroku.recipe_management_system.datasource.ReplicaRoutingDataSource;
+import kosukeroku.recipe_management_system.event.RecipeChangedEvent;
+import kosukeroku.recipe_management_system.event.UserRegisteredEvent;
+import kosukeroku.recipe_management_system.service.RecipeService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicaRoutingDataSourceTest {
+
+    private static final String READ_TRANSACTION = RecipeService.class.getName() + ".getAllRecipes";
+
+    private final DataSource primary = database("primary");
+    private final DataSource replica = database("replica");
+    private final AtomicLong nanos = new AtomicLong();
+    private ReplicaFreshnessTracker tracker;
+    private JdbcTemplate routed;
+
+    @BeforeEach
+    void setUp() {
+        route(Duration.ZERO);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        TransactionSynchronizationManager.setCurrentTransactionName(null);
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyRecipeServiceTransaction_ShouldUseReplica() {
+        inTransaction(READ_TRANSACTION, true);
+
+        assertThat(currentDatabase()).isEqualTo("replica");
+    }
+
+    @Test
+    void readWriteAndForeignTransactions_ShouldUsePrimary() {
+        inTransaction(RecipeService.class.getName() + ".saveRecipe", false);
+        assertThat(currentDatabase()).isEqualTo("primary");
+
+        inTransaction("org.springframework.data.jpa.repository.support.SimpleJpaRepository.findById", true);
+        assertThat(currentDatabase()).isEqualTo("primary");
+    }
+
+    @Test
+    void recentWriter_ShouldReadFromPrimaryUntilStalenessWindowPasses() {
+        route(Duration.ofSeconds(5));
+        inTransaction(READ_TRANSACTION, true);
+        assertThat(currentDatabase()).isEqualTo("replica");
+
+        signIn("writer@example.com");
+        tracker.onRecipeChanged(RecipeChangedEvent.deleted(1L, 0L));
+        assertThat(currentDatabase()).isEqualTo("primary");
+
+        signIn("reader@example.com");
+        assertThat(currentDatabase()).isEqualTo("replica");
+        assertThat(tracker.currentReadsMayLagCatalog()).isTrue();
+
+        signIn("writer@example.com");
+        nanos.addAndGet(Duration.ofSeconds(6).toNanos());
+        assertThat(currentDatabase()).isEqualTo("replica");
+        assertThat(tracker.currentReadsMayLagCatalog()).isFalse();
+    }
+
+    @Test
+    void newlyRegisteredUser_ShouldReadFromPrimary() {
+        route(Duration.ofSeconds(5));
+        inTransaction(READ_TRANSACTION, true);
+
+        tracker.onUserRegistered(new UserRegisteredEvent(42L, "new@example.com"));
+        signIn("new@example.com");
+
+        assertThat(currentDatabase()).isEqualTo("primary");
+    }
+
+    private void route(Duration maxStaleness) {
+        tracker = new ReplicaFreshnessTracker(maxStaleness, nanos::get);
+        routed = new JdbcTemplate(new ReplicaRoutingDataSource(primary, replica, tracker));
+    }
+
+    private String currentDatabase() {
+        return routed.queryForObject("SELECT name FROM marker", String.class);
+    }
+
+    private static void signIn(String email) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(email, null, AuthorityUtils.NO_AUTHORITIES));
+    }
+
+    private static void inTransaction(String name, boolean readOnly) {
+        TransactionSynchronizationManager.setCurrentTransactionName(name);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+    }
+
+    private static DataSource database(String name) {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "sa");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE marker (name VARCHAR(16))");
+        jdbcTemplate.update("INSERT INTO marker VALUES (?)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,45 @@
+package kosukeroku.recipe_management_system;
+
+import kosukeroku.recipe_management_system.config.CacheConfig;
+import kosukeroku.recipe_management_system.repository.UserRepository;
+import kosukeroku.recipe_management_system.security.UserDetailsServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+class UserDetailsServiceImplTest {
+
+    @MockitoBean
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(CacheConfig.ACTIVE_USERS_CACHE).clear();
+    }
+
+    @Test
+    void isActiveUser_ShouldCacheTheLookupPerEmail() {
+        when(userRepository.existsByEmail("alice@test.com")).thenReturn(true);
+        when(userRepository.existsByEmail("ghost@test.com")).thenReturn(false);
+
+        assertThat(userDetailsService.isActiveUser("alice@test.com")).isTrue();
+        assertThat(userDetailsService.isActiveUser("alice@test.com")).isTrue();
+        assertThat(userDetailsService.isActiveUser("ghost@test.com")).isFalse();
+
+        verify(userRepository, times(1)).existsByEmail("alice@test.com");
+        verify(userRepository, times(1)).existsByEmail("ghost@test.com");
+    }
+}